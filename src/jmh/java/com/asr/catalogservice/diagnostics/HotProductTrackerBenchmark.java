@@ -0,0 +1,39 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Per-read cost of tracking under contention, ids follow a rough power law like real traffic.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class HotProductTrackerBenchmark {
+    private HotProductTracker tracker;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        tracker = new HotProductTracker(4096, 100, Duration.ofMinutes(1));
+        ids = IntStream.range(0, 100_000)
+                .mapToObj("64b13f81160f6f18fe1%05x"::formatted)
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public void record() {
+        double skewed = Math.pow(ThreadLocalRandom.current().nextDouble(), 4);
+        tracker.record(ids[(int) (skewed * ids.length)]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Reflective MappingMongoConverter against the explicit converters and the raw codec.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductMappingBenchmark {
+    private final ProductCodec codec = new ProductCodec();
+    private MappingMongoConverter reflectiveConverter;
+    private Product product;
+    private Document document;
+    private byte[] bson;
+
+    @Setup
+    public void setUp() {
+        reflectiveConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+        reflectiveConverter.afterPropertiesSet();
+        var now = Instant.now();
+        product = new Product("64b13f81160f6f18fe1fdd49", "IPhone 14 Pro Max", "Apple IPhone 14 Pro Max with 256GB",
+                "Apple", 1000.0, 10L, now, now, 3);
+        document = ProductConverters.ProductWriteConverter.INSTANCE.convert(product);
+        var buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), product, EncoderContext.builder().build());
+        bson = buffer.toByteArray();
+    }
+
+    @Benchmark
+    public Document reflectiveWrite() {
+        var target = new Document();
+        reflectiveConverter.write(product, target);
+        return target;
+    }
+
+    @Benchmark
+    public Product reflectiveRead() {
+        return reflectiveConverter.read(Product.class, document);
+    }
+
+    @Benchmark
+    public Document converterWrite() {
+        return ProductConverters.ProductWriteConverter.INSTANCE.convert(product);
+    }
+
+    @Benchmark
+    public Product converterRead() {
+        return ProductConverters.ProductReadConverter.INSTANCE.convert(document);
+    }
+
+    @Benchmark
+    public byte[] codecEncode() {
+        var buffer = new BasicOutputBuffer(256);
+        codec.encode(new BsonBinaryWriter(buffer), product, EncoderContext.builder().build());
+        return buffer.getInternalBuffer();
+    }
+
+    @Benchmark
+    public Product codecDecode() {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+    }
+}
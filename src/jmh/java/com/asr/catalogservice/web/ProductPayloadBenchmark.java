@@ -0,0 +1,78 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Compares encode/decode cost of a product list page for each negotiable encoding. The encode
+// benchmark reports the payload size as the payloadBytes secondary result, so bandwidth and CPU
+// can be read side by side.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProductPayloadBenchmark {
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<Product> products;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        var now = Instant.now();
+        products = IntStream.range(0, size)
+                .mapToObj(i -> new Product("64b13f81160f6f18fe1f%04x".formatted(i), "Product " + i,
+                        "Description of product " + i, "Manufacturer " + (i % 20), 10.0 + i, (long) i % 100,
+                        now, now, i % 5))
+                .toList();
+        encoded = mapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws Exception {
+        var bytes = mapper.writeValueAsBytes(products);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<Product> decode() throws Exception {
+        return mapper.readValue(encoded, PRODUCT_LIST);
+    }
+
+    // Reported as is rather than per second, it holds the size of the last encoded payload.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+}
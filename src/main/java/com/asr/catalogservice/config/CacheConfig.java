@@ -0,0 +1,44 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.diagnostics.HotProductTracker;
+import com.asr.catalogservice.domain.ProductCacheInvalidator;
+import com.asr.catalogservice.domain.ProductCacheWarmer;
+import com.asr.catalogservice.domain.ProductChangeService;
+import com.asr.catalogservice.domain.ProductDescriptionStore;
+import com.asr.catalogservice.domain.ProductRepository;
+import com.asr.catalogservice.domain.ProductService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties({CacheWarmUpProperties.class, CacheInvalidationProperties.class})
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "catalog.cache.warm-up", name = "enabled", matchIfMissing = true)
+    ProductCacheWarmer productCacheWarmer(CacheManager cacheManager, ProductRepository repository,
+                                          ProductDescriptionStore descriptionStore,
+                                          CacheWarmUpProperties properties, HotProductTracker hotProductTracker) {
+        return new ProductCacheWarmer(cacheManager.getCache(ProductService.PRODUCTS_CACHE), repository,
+                descriptionStore, Path.of(properties.snapshotFile()), properties.hotKeys(), properties.batchSize(),
+                properties.concurrency(), properties.timeout(), hotProductTracker::topIds);
+    }
+
+    // The embedded store lives in a single process, so there is no other pod to hear changes from.
+    @Bean
+    @Profile("!embedded")
+    @ConditionalOnProperty(prefix = "catalog.cache.invalidation", name = "enabled", matchIfMissing = true)
+    ProductCacheInvalidator productCacheInvalidator(CacheManager cacheManager, ProductChangeService changeService,
+                                                    CacheInvalidationProperties properties) {
+        return new ProductCacheInvalidator(cacheManager.getCache(ProductService.PRODUCTS_CACHE), changeService,
+                properties.pageSize(), properties.maxPagesPerPoll());
+    }
+}
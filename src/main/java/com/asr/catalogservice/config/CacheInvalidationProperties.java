@@ -0,0 +1,22 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.cache.invalidation")
+public record CacheInvalidationProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("1s")
+        Duration pollInterval,
+
+        @DefaultValue("500")
+        int pageSize,
+
+        @DefaultValue("10")
+        int maxPagesPerPoll
+) {
+}
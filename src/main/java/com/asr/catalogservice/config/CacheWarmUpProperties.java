@@ -0,0 +1,28 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.cache.warm-up")
+public record CacheWarmUpProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("hot-products.txt")
+        String snapshotFile,
+
+        @DefaultValue("1000")
+        int hotKeys,
+
+        @DefaultValue("100")
+        int batchSize,
+
+        @DefaultValue("4")
+        int concurrency,
+
+        @DefaultValue("10s")
+        Duration timeout
+) {
+}
@@ -0,0 +1,29 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.AdaptiveConcurrencyLimiter;
+import com.asr.catalogservice.web.ConcurrencyLimitFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "catalog.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Only the product API is limited, the home endpoint keeps answering under overload.
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitProperties properties) {
+        var filter = new ConcurrencyLimitFilter(limiter(properties.reads()), limiter(properties.writes()),
+                properties.retryAfter());
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/products", "/products/*");
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(ConcurrencyLimitProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimiter(limit.initial(), limit.min(), limit.max());
+    }
+}
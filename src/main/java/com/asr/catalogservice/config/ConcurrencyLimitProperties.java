@@ -0,0 +1,33 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue
+        Limit reads,
+
+        @DefaultValue
+        Limit writes,
+
+        @DefaultValue("1s")
+        Duration retryAfter
+) {
+    public record Limit(
+            @DefaultValue("20")
+            int initial,
+
+            @DefaultValue("5")
+            int min,
+
+            @DefaultValue("50")
+            int max
+    ) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.domain.ConflictRetryPolicy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ConflictRetryProperties.class)
+public class ConflictRetryConfig {
+
+    // The transaction manager only exists with catalog.outbox.transactional, see OutboxConfig.
+    @Bean
+    ConflictRetryPolicy conflictRetryPolicy(ConflictRetryProperties properties,
+                                            ObjectProvider<PlatformTransactionManager> transactionManager) {
+        var manager = transactionManager.getIfUnique();
+        var transactions = manager == null
+                ? TransactionOperations.withoutTransaction()
+                : new TransactionTemplate(manager);
+        return new ConflictRetryPolicy(properties.maxAttempts(), properties.initialBackoff(),
+                properties.maxBackoff(), transactions);
+    }
+}
@@ -0,0 +1,19 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.update-retry")
+public record ConflictRetryProperties(
+        @DefaultValue("5")
+        int maxAttempts,
+
+        @DefaultValue("5ms")
+        Duration initialBackoff,
+
+        @DefaultValue("200ms")
+        Duration maxBackoff
+) {
+}
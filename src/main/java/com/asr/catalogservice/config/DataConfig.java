@@ -1,9 +1,64 @@
 package com.asr.catalogservice.config;
 
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductCodec;
+import com.asr.catalogservice.domain.ProductConverters;
+import com.asr.catalogservice.domain.ProductIndexes;
+import com.asr.catalogservice.partition.ProductPartitions;
+import com.mongodb.MongoClientSettings;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 
 @Configuration
+@Profile("!embedded")
 @EnableMongoAuditing
+@EnableConfigurationProperties(StorageProperties.class)
 public class DataConfig {
+
+    @Bean
+    MongoCustomConversions mongoCustomConversions(StorageProperties properties) {
+        return new MongoCustomConversions(ProductConverters.all(properties.layout()));
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer productCodecCustomizer(StorageProperties properties) {
+        return builder -> builder.codecRegistry(CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new ProductCodec(properties.layout())),
+                MongoClientSettings.getDefaultCodecRegistry()));
+    }
+
+    // Queries are mapped with the field naming strategy while documents are written by the
+    // converters, a layout that disagrees with the strategy would make every query miss.
+    @Bean
+    InitializingBean productIndexes(StorageProperties properties, MappingMongoConverter converter,
+                                    ProductPartitions partitions) {
+        return () -> {
+            var layout = properties.layout();
+            var priceField = converter.getMappingContext().getRequiredPersistentEntity(Product.class)
+                    .getRequiredPersistentProperty("price").getFieldName();
+            if (!priceField.equals(layout.priceField())) {
+                throw new IllegalStateException("catalog.storage.layout " + layout
+                        + " does not match the field naming strategy, price maps to '" + priceField + "'.");
+            }
+            for (var template : partitions.all()) {
+                ProductIndexes.ensure(template, template.getCollectionName(Product.class), layout);
+            }
+        };
+    }
+
+    // Products live next to everything else unless the partitioned profile spreads them out.
+    @Bean
+    @Profile("!partitioned")
+    ProductPartitions productPartitions(MongoTemplate mongoTemplate) {
+        return ProductPartitions.single(mongoTemplate);
+    }
 }
@@ -0,0 +1,25 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.DeadlineFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(prefix = "catalog.deadlines", name = "enabled", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties) {
+        var registration = new FilterRegistrationBean<>(
+                new DeadlineFilter(properties.defaultBudget(), properties.maxBudget(), properties.endpoints()));
+        registration.addUrlPatterns("/products", "/products/*");
+        // Ahead of the other product filters, the idempotency filter bounds its wait by the deadline.
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+}
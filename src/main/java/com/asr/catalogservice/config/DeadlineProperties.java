@@ -0,0 +1,24 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.DeadlineFilter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "catalog.deadlines")
+public record DeadlineProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("2s")
+        Duration defaultBudget,
+
+        @DefaultValue("30s")
+        Duration maxBudget,
+
+        @DefaultValue
+        List<DeadlineFilter.EndpointBudget> endpoints
+) {
+}
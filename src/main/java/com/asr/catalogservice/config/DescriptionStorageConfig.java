@@ -0,0 +1,24 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.domain.MongoProductDescriptionStore;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+
+// Under the partitioned profile split descriptions stay in the spring.data.mongodb database.
+@Configuration
+@Profile("!embedded")
+@EnableConfigurationProperties({DescriptionStorageProperties.class, StorageProperties.class})
+public class DescriptionStorageConfig {
+
+    @Bean
+    MongoProductDescriptionStore productDescriptionStore(MongoTemplate mongoTemplate, GridFsOperations gridFs,
+                                                         StorageProperties storage,
+                                                         DescriptionStorageProperties properties) {
+        return new MongoProductDescriptionStore(mongoTemplate, gridFs, storage.layout(),
+                properties.inlineMaxLength(), properties.gridFsMinLength());
+    }
+}
@@ -0,0 +1,15 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Lengths are in characters.
+@ConfigurationProperties(prefix = "catalog.descriptions")
+public record DescriptionStorageProperties(
+        @DefaultValue("1024")
+        int inlineMaxLength,
+
+        @DefaultValue("262144")
+        int gridFsMinLength
+) {
+}
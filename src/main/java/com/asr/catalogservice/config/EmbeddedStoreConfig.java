@@ -0,0 +1,28 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.domain.InlineProductDescriptionStore;
+import com.asr.catalogservice.embedded.InMemoryProductRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+// Store-local deployments and fast tests run without MongoDB, see application-embedded.yaml.
+@Configuration
+@Profile("embedded")
+@EnableConfigurationProperties(EmbeddedStoreProperties.class)
+public class EmbeddedStoreConfig {
+
+    @Bean
+    InMemoryProductRepository productRepository(EmbeddedStoreProperties properties) {
+        return new InMemoryProductRepository(Path.of(properties.dataDir()), (int) properties.logCapacity().toBytes(),
+                properties.syncWrites());
+    }
+
+    @Bean
+    InlineProductDescriptionStore productDescriptionStore() {
+        return new InlineProductDescriptionStore();
+    }
+}
@@ -0,0 +1,18 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "catalog.embedded")
+public record EmbeddedStoreProperties(
+        @DefaultValue("data")
+        String dataDir,
+
+        @DefaultValue("64MB")
+        DataSize logCapacity,
+
+        @DefaultValue("false")
+        boolean syncWrites
+) {
+}
@@ -0,0 +1,16 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.diagnostics.HotProductTracker;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotProductProperties.class)
+public class HotProductConfig {
+
+    @Bean
+    HotProductTracker hotProductTracker(HotProductProperties properties) {
+        return new HotProductTracker(properties.width(), properties.topK(), properties.decayInterval());
+    }
+}
@@ -0,0 +1,19 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.hot-products")
+public record HotProductProperties(
+        @DefaultValue("4096")
+        int width,
+
+        @DefaultValue("100")
+        int topK,
+
+        @DefaultValue("1m")
+        Duration decayInterval
+) {
+}
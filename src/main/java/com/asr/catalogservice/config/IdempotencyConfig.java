@@ -0,0 +1,33 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.IdempotencyFilter;
+import com.asr.catalogservice.web.IdempotencyStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "catalog.idempotency", name = "enabled", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    // Mongo backing is ignored by the embedded profile, which has no MongoTemplate.
+    @Bean
+    IdempotencyStore idempotencyStore(IdempotencyProperties properties, ObjectProvider<MongoTemplate> mongoTemplate) {
+        return new IdempotencyStore(properties.maxEntries(), properties.ttl(),
+                properties.mongoBacked() ? mongoTemplate.getIfAvailable() : null);
+    }
+
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                 IdempotencyProperties properties) {
+        var registration = new FilterRegistrationBean<>(new IdempotencyFilter(store, properties.waitTimeout(),
+                Math.toIntExact(properties.maxBodySize().toBytes())));
+        registration.addUrlPatterns("/products", "/products/*");
+        return registration;
+    }
+}
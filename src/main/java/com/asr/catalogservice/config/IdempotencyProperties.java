@@ -0,0 +1,32 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("24h")
+        Duration ttl,
+
+        @DefaultValue("100000")
+        long maxEntries,
+
+        // Capped by the waiting request's own deadline.
+        @DefaultValue("2s")
+        Duration waitTimeout,
+
+        // Bodies are buffered to fingerprint them, larger ones are rejected with 413.
+        @DefaultValue("1MB")
+        DataSize maxBodySize,
+
+        @DefaultValue("false")
+        boolean mongoBacked
+) {
+}
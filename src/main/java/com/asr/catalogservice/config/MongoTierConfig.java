@@ -0,0 +1,70 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.mongo.MongoTierPolicy;
+import com.asr.catalogservice.mongo.TieredMongoTemplate;
+import com.asr.catalogservice.web.ClientContextFilter;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Profile("!embedded")
+@EnableConfigurationProperties(MongoTierProperties.class)
+public class MongoTierConfig {
+
+    @Bean
+    MongoTierPolicy mongoTierPolicy(MongoTierProperties properties) {
+        var read = properties.read();
+        var readPreference = "primary".equalsIgnoreCase(read.preference())
+                ? ReadPreference.primary()
+                : ReadPreference.valueOf(read.preference(), List.of(), read.maxStaleness().toMillis(),
+                        TimeUnit.MILLISECONDS);
+        return new MongoTierPolicy(writeConcern(properties.interactiveWrite()), writeConcern(properties.bulkWrite()),
+                readPreference, read.readYourWrites() ? read.maxStaleness() : Duration.ZERO);
+    }
+
+    // Replaces the auto-configured template, Spring Data repositories pick it up by name.
+    @Bean
+    TieredMongoTemplate mongoTemplate(MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                      MongoTierPolicy policy) {
+        return new TieredMongoTemplate(databaseFactory, converter, policy);
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(MongoTierProperties properties) {
+        var pool = properties.pool();
+        return builder -> builder.applyToConnectionPoolSettings(settings -> settings
+                .maxSize(pool.maxSize())
+                .minSize(pool.minSize())
+                .maxWaitTime(pool.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(pool.maxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    @Bean
+    FilterRegistrationBean<ClientContextFilter> clientContextFilter() {
+        var registration = new FilterRegistrationBean<>(new ClientContextFilter());
+        registration.addUrlPatterns("/products", "/products/*");
+        return registration;
+    }
+
+    private static WriteConcern writeConcern(MongoTierProperties.Write write) {
+        var concern = "majority".equalsIgnoreCase(write.w())
+                ? WriteConcern.MAJORITY
+                : new WriteConcern(Integer.parseInt(write.w()));
+        if (!write.timeout().isZero()) {
+            concern = concern.withWTimeout(write.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return concern.withJournal(write.journal());
+    }
+}
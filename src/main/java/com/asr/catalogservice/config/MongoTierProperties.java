@@ -0,0 +1,64 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.mongo")
+public record MongoTierProperties(
+        @DefaultValue
+        Write interactiveWrite,
+
+        // Defaults to the interactive settings, relaxing durability is opt-in.
+        @DefaultValue
+        Write bulkWrite,
+
+        @DefaultValue
+        Read read,
+
+        @DefaultValue
+        Pool pool
+) {
+    // w is "majority", a member count or 0 for unacknowledged writes.
+    public record Write(
+            @DefaultValue("majority")
+            String w,
+
+            @DefaultValue("true")
+            boolean journal,
+
+            @DefaultValue("5s")
+            Duration timeout
+    ) {
+    }
+
+    // Mongo requires max-staleness of at least 90s; it is also how long a writing client's
+    // reads stay on the primary.
+    public record Read(
+            @DefaultValue("primary")
+            String preference,
+
+            @DefaultValue("90s")
+            Duration maxStaleness,
+
+            @DefaultValue("true")
+            boolean readYourWrites
+    ) {
+    }
+
+    public record Pool(
+            @DefaultValue("100")
+            int maxSize,
+
+            @DefaultValue("0")
+            int minSize,
+
+            @DefaultValue("2m")
+            Duration maxWaitTime,
+
+            @DefaultValue("0s")
+            Duration maxConnectionIdleTime
+    ) {
+    }
+}
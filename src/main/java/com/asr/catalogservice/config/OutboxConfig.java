@@ -0,0 +1,55 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.outbox.FileOutboxSink;
+import com.asr.catalogservice.outbox.InProcessBroker;
+import com.asr.catalogservice.outbox.LoggingOutboxSink;
+import com.asr.catalogservice.outbox.OutboxPublisher;
+import com.asr.catalogservice.outbox.OutboxSink;
+import com.asr.catalogservice.outbox.OutboxWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.nio.file.Path;
+
+// Under the partitioned profile products and outbox live in different databases, the outbox
+// insert then follows the product write instead of sharing its transaction.
+@Configuration
+@Profile("!embedded")
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "catalog.outbox", name = "enabled", matchIfMissing = true)
+public class OutboxConfig {
+
+    @Bean
+    OutboxWriter outboxWriter(MongoTemplate mongoTemplate) {
+        return new OutboxWriter(mongoTemplate);
+    }
+
+    @Bean
+    OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.sink()) {
+            case LOG -> new LoggingOutboxSink();
+            case FILE -> new FileOutboxSink(Path.of(properties.file()), objectMapper);
+            case BROKER -> new InProcessBroker();
+        };
+    }
+
+    @Bean
+    OutboxPublisher outboxPublisher(MongoTemplate mongoTemplate, OutboxSink sink, OutboxProperties properties) {
+        return new OutboxPublisher(mongoTemplate, sink, properties.batchSize(), properties.maxBatchesPerPoll(),
+                properties.lease());
+    }
+
+    // Turns on @Transactional in ProductService, without a transaction manager it is inert.
+    @Bean
+    @ConditionalOnProperty(prefix = "catalog.outbox", name = "transactional", havingValue = "true")
+    MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -0,0 +1,37 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.outbox")
+public record OutboxProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("LOG")
+        Sink sink,
+
+        @DefaultValue("product-events.jsonl")
+        String file,
+
+        @DefaultValue("100")
+        int batchSize,
+
+        @DefaultValue("10")
+        int maxBatchesPerPoll,
+
+        // How long a claimed batch is left to its pod, it should outlast a slow sink call.
+        @DefaultValue("30s")
+        Duration lease,
+
+        // Needs a replica set, product writes and their outbox events (and split descriptions)
+        // then commit together.
+        @DefaultValue("false")
+        boolean transactional
+) {
+    public enum Sink {
+        LOG, FILE, BROKER
+    }
+}
@@ -0,0 +1,78 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.mongo.MongoTierPolicy;
+import com.asr.catalogservice.mongo.TieredMongoTemplate;
+import com.asr.catalogservice.partition.PartitionedProductRepository;
+import com.asr.catalogservice.partition.ProductPartitions;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.StandardMongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+// Spreads products over several Mongo databases, see application-partitioned.yaml. The
+// spring.data.mongodb database keeps everything else (stats, tombstones). Product indexes are
+// ensured on every partition by DataConfig.
+@Configuration
+@Profile("partitioned")
+@EnableConfigurationProperties(PartitionProperties.class)
+public class PartitionConfig {
+
+    @Bean(destroyMethod = "close")
+    ProductPartitions productPartitions(PartitionProperties properties, MappingMongoConverter converter,
+                                        ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                        MongoTierPolicy tierPolicy, ApplicationContext context) {
+        if (properties.uris() == null || properties.uris().isEmpty()) {
+            throw new IllegalStateException("catalog.partitions.uris must list at least one partition.");
+        }
+        List<MongoClient> clients = new ArrayList<>();
+        List<MongoTemplate> templates = new ArrayList<>();
+        for (var uri : properties.uris()) {
+            var connectionString = new ConnectionString(uri);
+            if (connectionString.getDatabase() == null) {
+                throw new IllegalStateException("Partition URI '" + uri + "' does not name a database.");
+            }
+            // The codec and command listeners apply to every partition, the standard customizer
+            // would point the client back at spring.data.mongodb.uri.
+            var settings = MongoClientSettings.builder();
+            customizers.orderedStream()
+                    .filter(customizer -> !(customizer instanceof StandardMongoClientSettingsBuilderCustomizer))
+                    .forEach(customizer -> customizer.customize(settings));
+            var client = MongoClients.create(settings.applyConnectionString(connectionString).build());
+            clients.add(client);
+            var template = new TieredMongoTemplate(
+                    new SimpleMongoClientDatabaseFactory(client, connectionString.getDatabase()), converter, tierPolicy);
+            // Registers the entity callbacks, so auditing fills in the dates as on the default template.
+            template.setApplicationContext(context);
+            templates.add(template);
+        }
+        var partitions = new ProductPartitions(templates, properties.key(),
+                Executors.newFixedThreadPool(properties.scatterThreads()), clients);
+        try {
+            partitions.verifyLayout();
+        } catch (RuntimeException e) {
+            partitions.close();
+            throw e;
+        }
+        return partitions;
+    }
+
+    @Bean
+    PartitionedProductRepository productRepository(ProductPartitions partitions) {
+        return new PartitionedProductRepository(partitions);
+    }
+}
@@ -0,0 +1,22 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.partition.PartitionKey;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "catalog.partitions")
+public record PartitionProperties(
+        @DefaultValue("ID")
+        PartitionKey key,
+
+        // One connection string per partition, each must name its database. Routing hashes over
+        // the list, so neither its order nor its length may change without moving the data;
+        // startup fails when it differs from the layout recorded in the partitions.
+        List<String> uris,
+
+        @DefaultValue("8")
+        int scatterThreads
+) {
+}
@@ -0,0 +1,20 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.ProductEventBroadcaster;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(ProductStreamProperties.class)
+public class ProductStreamConfig {
+
+    @Bean
+    ProductEventBroadcaster productEventBroadcaster(ProductStreamProperties properties) {
+        return new ProductEventBroadcaster(Executors.newFixedThreadPool(properties.dispatchThreads()),
+                properties.maxSubscribers(), properties.bufferSize(), properties.drainBatchSize(),
+                properties.overflowPolicy(), properties.timeout());
+    }
+}
@@ -0,0 +1,30 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.ProductStreamSubscriber;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.stream")
+public record ProductStreamProperties(
+        @DefaultValue("5000")
+        int maxSubscribers,
+
+        @DefaultValue("256")
+        int bufferSize,
+
+        // Events one dispatch thread sends to a subscriber before serving the next one.
+        @DefaultValue("32")
+        int drainBatchSize,
+
+        @DefaultValue("DISCONNECT")
+        ProductStreamSubscriber.OverflowPolicy overflowPolicy,
+
+        @DefaultValue("30m")
+        Duration timeout,
+
+        @DefaultValue("4")
+        int dispatchThreads
+) {
+}
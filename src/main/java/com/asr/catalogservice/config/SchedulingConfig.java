@@ -0,0 +1,11 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Boot's scheduler runs on a single thread unless spring.task.scheduling.pool.size is set, see
+// application.yaml.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,76 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.web.LoggingSpanExporter;
+import com.asr.catalogservice.web.RequestTimings;
+import com.asr.catalogservice.web.ServerTimingFilter;
+import com.asr.catalogservice.web.SpanExporter;
+import com.asr.catalogservice.web.TimedValidator;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request phase timings (binding, validation, Mongo round trips and the rest), returned
+// as a Server-Timing header and handed to every SpanExporter bean.
+@Configuration
+@ConditionalOnProperty(prefix = "catalog.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+    private final ObjectProvider<LocalValidatorFactoryBean> validator;
+
+    public ServerTimingConfig(ObjectProvider<LocalValidatorFactoryBean> validator) {
+        this.validator = validator;
+    }
+
+    @Bean
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ObjectProvider<SpanExporter> exporters) {
+        return new FilterRegistrationBean<>(new ServerTimingFilter(exporters.orderedStream().toList()));
+    }
+
+    @Bean
+    LoggingSpanExporter loggingSpanExporter() {
+        return new LoggingSpanExporter();
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoTimingCustomizer() {
+        return builder -> builder.addCommandListener(new MongoTimingListener());
+    }
+
+    @Override
+    public Validator getValidator() {
+        var delegate = validator.getIfAvailable();
+        return delegate != null ? new TimedValidator(delegate) : null;
+    }
+
+    // The sync driver reports command events on the calling thread, so the request's timings
+    // are reachable from here.
+    private static final class MongoTimingListener implements CommandListener {
+
+        @Override
+        public void commandSucceeded(CommandSucceededEvent event) {
+            record(event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void commandFailed(CommandFailedEvent event) {
+            record(event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+
+        private static void record(String commandName, long elapsedNanos) {
+            var timings = RequestTimings.current();
+            if (timings != null) {
+                timings.record("db", "mongo." + commandName, System.nanoTime() - elapsedNanos, elapsedNanos);
+            }
+        }
+    }
+}
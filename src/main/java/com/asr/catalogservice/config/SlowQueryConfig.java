@@ -0,0 +1,36 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.diagnostics.SlowQueryExplainer;
+import com.asr.catalogservice.diagnostics.SlowQueryListener;
+import com.asr.catalogservice.diagnostics.SlowQueryLog;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+@Configuration
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryConfig {
+
+    @Bean
+    SlowQueryLog slowQueryLog(SlowQueryProperties properties) {
+        return new SlowQueryLog(properties.threshold(), properties.maxShapes());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "catalog.slow-query", name = "enabled", matchIfMissing = true)
+    MongoClientSettingsBuilderCustomizer slowQueryCustomizer(SlowQueryLog slowQueryLog) {
+        return builder -> builder.addCommandListener(new SlowQueryListener(slowQueryLog));
+    }
+
+    @Bean
+    @Profile("!embedded")
+    @ConditionalOnProperty(prefix = "catalog.slow-query", name = "enabled", matchIfMissing = true)
+    SlowQueryExplainer slowQueryExplainer(SlowQueryLog slowQueryLog, MongoDatabaseFactory databaseFactory,
+                                          SlowQueryProperties properties) {
+        return new SlowQueryExplainer(slowQueryLog, databaseFactory, properties.explainTop());
+    }
+}
@@ -0,0 +1,22 @@
+package com.asr.catalogservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.slow-query")
+public record SlowQueryProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        @DefaultValue("100ms")
+        Duration threshold,
+
+        @DefaultValue("500")
+        int maxShapes,
+
+        @DefaultValue("5")
+        int explainTop
+) {
+}
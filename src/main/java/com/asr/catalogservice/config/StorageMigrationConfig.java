@@ -0,0 +1,33 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.migration.ProductLayoutMigration;
+import com.asr.catalogservice.migration.ProductLayoutMigrationRunner;
+import com.asr.catalogservice.partition.ProductPartitions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+// Runs the product layout migration on startup, see ProductLayoutMigrationRunner. Cutover is refused
+// unless this deployment already runs the target layout, otherwise it would keep querying the
+// renamed collection with the old field names.
+@Configuration
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "catalog.storage.migration", name = "enabled", havingValue = "true")
+public class StorageMigrationConfig {
+
+    @Bean
+    ProductLayoutMigrationRunner productLayoutMigrationRunner(StorageProperties properties, MongoTemplate mongoTemplate,
+                                                   ProductPartitions partitions) {
+        var settings = properties.migration();
+        if (settings.cutover() && properties.layout() != settings.targetLayout()) {
+            throw new IllegalStateException("Cutover to the " + settings.targetLayout()
+                    + " layout needs catalog.storage.layout set to it, but it is " + properties.layout());
+        }
+        var migration = new ProductLayoutMigration(mongoTemplate, settings.sourceLayout(),
+                settings.targetLayout(), settings.targetCollection(), settings.batchSize(), settings.lease());
+        return new ProductLayoutMigrationRunner(migration, partitions.all(),
+                "product-" + settings.targetLayout().name().toLowerCase() + "-", settings.cutover());
+    }
+}
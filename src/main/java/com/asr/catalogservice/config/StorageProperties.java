@@ -0,0 +1,46 @@
+package com.asr.catalogservice.config;
+
+import com.asr.catalogservice.domain.ProductLayout;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "catalog.storage")
+public record StorageProperties(
+        // Must agree with spring.data.mongodb.field-naming-strategy, see application-compact.yaml.
+        @DefaultValue("standard")
+        ProductLayout layout,
+
+        @DefaultValue
+        Migration migration
+) {
+    // Copies the product collection into the target layout in the background after startup, on
+    // one pod at a time. Cutover swaps the copy in and keeps the original as a backup; it needs
+    // layout set to targetLayout and no pod with the old layout writing. Once done it is a no-op.
+    public record Migration(
+            @DefaultValue("false")
+            boolean enabled,
+
+            // The layout the product collection is written in before the migration.
+            @DefaultValue("standard")
+            ProductLayout sourceLayout,
+
+            @DefaultValue("compact")
+            ProductLayout targetLayout,
+
+            @DefaultValue("product_compact")
+            String targetCollection,
+
+            @DefaultValue("500")
+            int batchSize,
+
+            // Held on the checkpoint by the one pod running the migration, renewed every batch.
+            @DefaultValue("2m")
+            Duration lease,
+
+            @DefaultValue("false")
+            boolean cutover
+    ) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.asr.catalogservice.diagnostics;
+
+import java.time.Instant;
+
+public record ExplainSummary(
+        boolean collectionScan,
+        long docsExamined,
+        long keysExamined,
+        long docsReturned,
+        Instant capturedAt
+) {
+}
@@ -0,0 +1,5 @@
+package com.asr.catalogservice.diagnostics;
+
+// estimatedRequestsPerSecond is derived from the decayed count, see HotProductTracker.
+public record HotProduct(String id, long estimatedCount, double estimatedRequestsPerSecond) {
+}
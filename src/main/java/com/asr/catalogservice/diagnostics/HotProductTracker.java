@@ -0,0 +1,109 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+// Estimates which product ids are read most often. Every read increments one counter per row
+// of a count-min sketch (four atomic increments, no locks, no allocation), and ids whose estimate
+// beats the current top-K threshold are kept as heavy-hitter candidates. Counters are halved
+// every decay interval, so the estimates follow recent traffic rather than all-time totals.
+public class HotProductTracker {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int topK;
+    private final Duration decayInterval;
+    private final Map<String, Boolean> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long admissionThreshold;
+
+    // Width is rounded up to a power of two, the sketch overestimates by at most
+    // e / width of all recent reads with high probability.
+    public HotProductTracker(int width, int topK, Duration decayInterval) {
+        this.width = Math.max(16, Integer.highestOneBit(width - 1) << 1);
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+        this.topK = topK;
+        this.decayInterval = decayInterval;
+    }
+
+    public void record(String id) {
+        int hash = id.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        if (estimate > admissionThreshold && candidates.putIfAbsent(id, Boolean.TRUE) == null
+                && candidates.size() > 2 * topK) {
+            prune();
+        }
+    }
+
+    public long estimate(String id) {
+        int hash = id.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    // Halving every interval makes the steady-state count of an id read at rate r oscillate
+    // between r * interval and 2 * r * interval, the rate is estimated from the midpoint.
+    public List<HotProduct> topK(int limit) {
+        double seconds = 1.5 * decayInterval.toMillis() / 1000.0;
+        return candidates.keySet().stream()
+                .map(id -> {
+                    long count = estimate(id);
+                    return new HotProduct(id, count, count / seconds);
+                })
+                .filter(product -> product.estimatedCount() > 0)
+                .sorted(Comparator.comparingLong(HotProduct::estimatedCount).reversed())
+                .limit(Math.min(limit, topK))
+                .toList();
+    }
+
+    public List<String> topIds(int limit) {
+        return topK(limit).stream().map(HotProduct::id).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.hot-products.decay-interval}",
+            initialDelayString = "${catalog.hot-products.decay-interval}")
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+        admissionThreshold >>>= 1;
+        candidates.keySet().removeIf(id -> estimate(id) == 0);
+    }
+
+    // Only one thread prunes at a time, the others keep recording and never wait for it.
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            var ranked = topK(topK);
+            var keep = ranked.stream().map(HotProduct::id).collect(Collectors.toSet());
+            candidates.keySet().retainAll(keep);
+            admissionThreshold = ranked.size() < topK ? 0 : ranked.get(ranked.size() - 1).estimatedCount();
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return row * width + (h & (width - 1));
+    }
+}
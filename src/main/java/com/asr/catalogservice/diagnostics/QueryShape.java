@@ -0,0 +1,113 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+// Normalizes a Mongo command into its shape: literal values become "?" so that the same
+// query with different parameters is grouped together.
+public final class QueryShape {
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+
+    // Driver and session bookkeeping that does not change what the server has to do.
+    private static final Set<String> IGNORED_FIELDS = Set.of("$db", "lsid", "$clusterTime", "txnNumber",
+            "$readPreference", "readConcern", "writeConcern", "apiVersion", "apiStrict", "apiDeprecationErrors",
+            "comment", "maxTimeMS", "batchSize", "singleBatch", "cursor", "ordered", "limit", "skip", "autocommit",
+            "startTransaction", "bypassDocumentValidation");
+
+    // Part of the shape as they are, they decide which index can be used.
+    private static final Set<String> VERBATIM_FIELDS = Set.of("sort", "projection", "fields", "key", "hint");
+
+    // What decides the plan, everything a sample of the command has to keep.
+    private static final Set<String> SAMPLED_FIELDS = Set.of("filter", "query", "sort", "projection", "fields",
+            "pipeline", "key", "hint", "collation", "remove", "new", "upsert");
+
+    private QueryShape() {
+    }
+
+    // A small copy of a command that yields the same shape and can still be explained. Update and
+    // delete batches keep their first statement without the update document, findAndModify keeps
+    // an empty update, so write payloads are never copied.
+    public static BsonDocument sample(BsonDocument command) {
+        var commandName = command.getFirstKey();
+        var sample = new BsonDocument(commandName, copy(command.get(commandName)));
+        for (var field : SAMPLED_FIELDS) {
+            if (command.containsKey(field)) {
+                sample.put(field, copy(command.get(field)));
+            }
+        }
+        if (commandName.equals("findAndModify") && command.containsKey("update")) {
+            sample.put("update", new BsonDocument());
+        }
+        for (var statements : new String[]{"updates", "deletes"}) {
+            if (command.isArray(statements) && !command.getArray(statements).isEmpty()) {
+                var first = command.getArray(statements).get(0).asDocument();
+                var statement = new BsonDocument();
+                first.forEach((key, value) -> statement.put(key, key.equals("u") ? new BsonDocument() : copy(value)));
+                sample.put(statements, new BsonArray(List.of(statement)));
+            }
+        }
+        return sample;
+    }
+
+    // Nested documents of a started command may point into a pooled buffer.
+    private static BsonValue copy(BsonValue value) {
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        return value.isArray() ? value.asArray().clone() : value;
+    }
+
+    public static String of(BsonDocument command) {
+        return normalizeCommand(command).toJson();
+    }
+
+    // Keeps what explain needs to reproduce the plan, drops session and driver fields.
+    public static BsonDocument explainable(BsonDocument command) {
+        var explainable = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!key.startsWith("$") && !key.equals("lsid") && !key.equals("txnNumber")
+                    && !key.equals("readConcern") && !key.equals("writeConcern")) {
+                explainable.put(key, value);
+            }
+        });
+        return explainable;
+    }
+
+    private static BsonDocument normalizeCommand(BsonDocument command) {
+        var shape = new BsonDocument();
+        var commandName = command.getFirstKey();
+        command.forEach((key, value) -> {
+            if (key.equals(commandName) || VERBATIM_FIELDS.contains(key)) {
+                shape.put(key, value);
+            } else if (!IGNORED_FIELDS.contains(key)) {
+                shape.put(key, normalize(value));
+            }
+        });
+        return shape;
+    }
+
+    private static BsonValue normalize(BsonValue value) {
+        if (value.isDocument()) {
+            var shape = new BsonDocument();
+            value.asDocument().forEach((key, nested) ->
+                    shape.put(key, VERBATIM_FIELDS.contains(key) ? nested : normalize(nested)));
+            return shape;
+        }
+        if (value.isArray()) {
+            // $in lists and batched updates collapse to their distinct element shapes.
+            var distinct = new LinkedHashMap<String, BsonValue>();
+            for (var element : value.asArray()) {
+                var shape = normalize(element);
+                distinct.putIfAbsent(shape.isDocument() ? shape.asDocument().toJson() : "?", shape);
+            }
+            return new BsonArray(distinct.values().stream().toList());
+        }
+        return PLACEHOLDER;
+    }
+}
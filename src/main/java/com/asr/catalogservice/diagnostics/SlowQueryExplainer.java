@@ -0,0 +1,88 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+// Periodically runs explain for the most expensive slow query shapes so collection scans
+// and poor index usage show up with evidence, not just durations.
+public class SlowQueryExplainer {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryExplainer.class);
+
+    private final SlowQueryLog slowQueryLog;
+    private final MongoDatabaseFactory databaseFactory;
+    private final int explainTop;
+
+    public SlowQueryExplainer(SlowQueryLog slowQueryLog, MongoDatabaseFactory databaseFactory, int explainTop) {
+        this.slowQueryLog = slowQueryLog;
+        this.databaseFactory = databaseFactory;
+        this.explainTop = explainTop;
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.slow-query.explain-interval}",
+            initialDelayString = "${catalog.slow-query.explain-interval}")
+    public void explainTopShapes() {
+        for (var entry : slowQueryLog.top(explainTop)) {
+            try {
+                explain(entry);
+            } catch (RuntimeException e) {
+                log.warn("Failed to explain slow query {}", entry.shape(), e);
+            }
+        }
+    }
+
+    private void explain(SlowQueryLog.Entry entry) {
+        var command = Document.parse(QueryShape.explainable(entry.sampleCommand()).toJson());
+        var result = databaseFactory.getMongoDatabase(entry.database())
+                .runCommand(new Document("explain", command).append("verbosity", "executionStats"));
+        var summary = new ExplainSummary(
+                containsStage(result, "COLLSCAN"),
+                findLong(result, "totalDocsExamined").orElse(0L),
+                findLong(result, "totalKeysExamined").orElse(0L),
+                findLong(result, "nReturned").orElse(0L),
+                Instant.now());
+        entry.explain(summary);
+        if (summary.collectionScan()) {
+            log.warn("Slow query uses a collection scan, examined {} docs to return {}: {}",
+                    summary.docsExamined(), summary.docsReturned(), entry.shape());
+        }
+    }
+
+    // Explain output nests differently for find, aggregate and write commands, so the
+    // relevant fields are looked up anywhere in the document.
+    private static boolean containsStage(Object value, String stage) {
+        if (value instanceof Document document) {
+            return stage.equals(document.get("stage"))
+                    || document.values().stream().anyMatch(nested -> containsStage(nested, stage));
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().anyMatch(nested -> containsStage(nested, stage));
+        }
+        return false;
+    }
+
+    private static Optional<Long> findLong(Object value, String field) {
+        if (value instanceof Document document) {
+            if (document.get(field) instanceof Number number) {
+                return Optional.of(number.longValue());
+            }
+            return document.values().stream()
+                    .map(nested -> findLong(nested, field))
+                    .flatMap(Optional::stream)
+                    .findFirst();
+        }
+        if (value instanceof List<?> list) {
+            return list.stream()
+                    .map(nested -> findLong(nested, field))
+                    .flatMap(Optional::stream)
+                    .findFirst();
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.asr.catalogservice.diagnostics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class SlowQueryListener implements CommandListener {
+    private static final Set<String> TRACKED_COMMANDS = Set.of("find", "aggregate", "count", "distinct",
+            "update", "delete", "findAndModify");
+
+    private final SlowQueryLog slowQueryLog;
+    private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+
+    public SlowQueryListener(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (TRACKED_COMMANDS.contains(event.getCommandName())) {
+            // The command may be backed by a pooled buffer that is released after this call. Only
+            // the part that decides the shape is copied, not whole write batches.
+            inFlight.put(event.getRequestId(),
+                    new StartedCommand(event.getDatabaseName(), QueryShape.sample(event.getCommand())));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        var started = inFlight.remove(event.getRequestId());
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (started != null && slowQueryLog.isSlow(elapsed)) {
+            slowQueryLog.record(started.database(), started.command(), elapsed, docsReturned(event.getResponse()));
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        inFlight.remove(event.getRequestId());
+    }
+
+    private static long docsReturned(BsonDocument response) {
+        if (response.isDocument("cursor")) {
+            var cursor = response.getDocument("cursor");
+            return cursor.isArray("firstBatch") ? cursor.getArray("firstBatch").size() : 0;
+        }
+        if (response.isNumber("n")) {
+            return response.getNumber("n").longValue();
+        }
+        if (response.isArray("values")) {
+            return response.getArray("values").size();
+        }
+        if (response.containsKey("value")) {
+            return response.get("value").isNull() ? 0 : 1;
+        }
+        return 0;
+    }
+
+    private record StartedCommand(String database, BsonDocument command) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.bson.BsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Aggregates slow Mongo operations by query shape. The number of shapes is bounded so a
+// workload with unbounded distinct shapes cannot grow the log without limit.
+public class SlowQueryLog {
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final long thresholdNanos;
+    private final int maxShapes;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong droppedShapes = new AtomicLong();
+
+    public SlowQueryLog(Duration threshold, int maxShapes) {
+        this.thresholdNanos = threshold.toNanos();
+        this.maxShapes = maxShapes;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    public void record(String database, BsonDocument command, long durationNanos, long docsReturned) {
+        var shape = QueryShape.of(command);
+        var entry = entries.get(shape);
+        if (entry == null) {
+            if (entries.size() >= maxShapes) {
+                droppedShapes.incrementAndGet();
+                return;
+            }
+            entry = entries.computeIfAbsent(shape, key -> new Entry(key, database, command.getFirstKey()));
+        }
+        entry.record(command, durationNanos, docsReturned);
+        log.warn("Slow Mongo {} on {} took {}ms, returned {} docs: {}", command.getFirstKey(), database,
+                durationNanos / 1_000_000, docsReturned, shape);
+    }
+
+    public List<SlowQueryReport> report() {
+        return entries.values().stream()
+                .map(Entry::toReport)
+                .sorted(Comparator.comparingDouble(SlowQueryReport::totalMillis).reversed())
+                .toList();
+    }
+
+    // Shapes that cost the most in total, the best candidates for an explain.
+    List<Entry> top(int limit) {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::totalNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long droppedShapes() {
+        return droppedShapes.get();
+    }
+
+    public void clear() {
+        entries.clear();
+        droppedShapes.set(0);
+    }
+
+    static final class Entry {
+        private final String shape;
+        private final String database;
+        private final String commandName;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastDocsReturned;
+        private BsonDocument sampleCommand;
+        private ExplainSummary explain;
+
+        private Entry(String shape, String database, String commandName) {
+            this.shape = shape;
+            this.database = database;
+            this.commandName = commandName;
+        }
+
+        private synchronized void record(BsonDocument command, long durationNanos, long docsReturned) {
+            count++;
+            totalNanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+            lastDocsReturned = docsReturned;
+            sampleCommand = command;
+        }
+
+        synchronized long totalNanos() {
+            return totalNanos;
+        }
+
+        synchronized BsonDocument sampleCommand() {
+            return sampleCommand;
+        }
+
+        String shape() {
+            return shape;
+        }
+
+        String database() {
+            return database;
+        }
+
+        synchronized void explain(ExplainSummary explain) {
+            this.explain = explain;
+        }
+
+        private synchronized SlowQueryReport toReport() {
+            return new SlowQueryReport(shape, database, commandName, count, totalNanos / 1_000_000.0,
+                    totalNanos / 1_000_000.0 / count, maxNanos / 1_000_000.0, lastDocsReturned, explain);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.asr.catalogservice.diagnostics;
+
+public record SlowQueryReport(
+        String shape,
+        String database,
+        String command,
+        long count,
+        double totalMillis,
+        double averageMillis,
+        double maxMillis,
+        long lastDocsReturned,
+        ExplainSummary explain
+) {
+}
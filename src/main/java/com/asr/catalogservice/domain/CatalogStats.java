@@ -0,0 +1,51 @@
+package com.asr.catalogservice.domain;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+public record CatalogStats(
+        long productCount,
+        long totalUnits,
+        Double minPrice,
+        Double averagePrice,
+        Double maxPrice,
+        List<Manufacturer> manufacturers
+) {
+
+    public record Manufacturer(
+            String name,
+            long productCount,
+            long totalUnits,
+            Double minPrice,
+            Double averagePrice,
+            Double maxPrice
+    ) {
+    }
+
+    public static CatalogStats of(List<ManufacturerStats> stats) {
+        long productCount = 0;
+        long totalUnits = 0;
+        double priceTotal = 0;
+        for (var stat : stats) {
+            productCount += stat.count();
+            totalUnits += stat.units();
+            priceTotal += stat.priceTotal();
+        }
+        var minPrice = stats.stream().map(ManufacturerStats::minPrice).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null);
+        var maxPrice = stats.stream().map(ManufacturerStats::maxPrice).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null);
+        var manufacturers = stats.stream()
+                .sorted(Comparator.comparing(ManufacturerStats::manufacturer))
+                .map(stat -> new Manufacturer(stat.manufacturer(), stat.count(), stat.units(), stat.minPrice(),
+                        average(stat.priceTotal(), stat.count()), stat.maxPrice()))
+                .toList();
+        return new CatalogStats(productCount, totalUnits, minPrice, average(priceTotal, productCount), maxPrice,
+                manufacturers);
+    }
+
+    private static Double average(double total, long count) {
+        return count == 0 ? null : total / count;
+    }
+}
@@ -0,0 +1,30 @@
+package com.asr.catalogservice.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+// Opaque sync watermark: the modification time and id of the last change a consumer has seen.
+public record ChangeToken(Instant timestamp, String id) {
+
+    public static ChangeToken parse(String token) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = decoded.indexOf(':');
+            return new ChangeToken(Instant.ofEpochMilli(Long.parseLong(decoded.substring(0, separator))),
+                    decoded.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change token '" + token + "'.", e);
+        }
+    }
+
+    public String encode() {
+        var raw = timestamp.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isBefore(Instant otherTimestamp, String otherId) {
+        int byTime = timestamp.compareTo(otherTimestamp);
+        return byTime < 0 || (byTime == 0 && id.compareTo(otherId) < 0);
+    }
+}
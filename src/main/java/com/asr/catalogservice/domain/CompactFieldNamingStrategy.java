@@ -0,0 +1,22 @@
+package com.asr.catalogservice.domain;
+
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.data.mapping.model.FieldNamingStrategy;
+import org.springframework.data.mapping.model.PropertyNameFieldNamingStrategy;
+
+// Maps Product properties to ProductLayout.COMPACT field names for queries, sorts, indexes and
+// aggregations, the document itself is written by ProductConverters. Enabled through
+// spring.data.mongodb.field-naming-strategy in the compact profile.
+public class CompactFieldNamingStrategy implements FieldNamingStrategy {
+
+    @Override
+    public String getFieldName(PersistentProperty<?> property) {
+        if (property.getOwner().getType() == Product.class) {
+            var field = ProductLayout.COMPACT.fieldFor(property.getName());
+            if (field != null) {
+                return field;
+            }
+        }
+        return PropertyNameFieldNamingStrategy.INSTANCE.getFieldName(property);
+    }
+}
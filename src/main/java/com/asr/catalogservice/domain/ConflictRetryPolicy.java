@@ -0,0 +1,73 @@
+package com.asr.catalogservice.domain;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Retries read-modify-write operations that lost an optimistic version race. Each attempt runs
+// in its own transaction, when transactions are enabled, so a retry reads the winning write
+// instead of its old snapshot. Backoff is exponential with full jitter, which spreads writers
+// racing for the same product instead of letting them collide again in lockstep.
+public class ConflictRetryPolicy {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final TransactionOperations transactions;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public ConflictRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                               TransactionOperations transactions) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.transactions = transactions;
+    }
+
+    // Write conflicts inside Mongo transactions are translated to other ConcurrencyFailureExceptions
+    // than OptimisticLockingFailureException, both are retried.
+    public <T> T execute(String id, Supplier<T> operation) {
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                return transactions.execute(status -> operation.get());
+            } catch (ConcurrencyFailureException e) {
+                conflicts.increment();
+                // An interrupted backoff gives up rather than retrying immediately.
+                if (attempt == maxAttempts || !backOff(attempt)) {
+                    exhausted.increment();
+                    throw new ProductUpdateConflictException(id, attempt, e);
+                }
+                retries.increment();
+            }
+        }
+    }
+
+    public ConflictRetryStats getStats() {
+        return new ConflictRetryStats(attempts.sum(), conflicts.sum(), retries.sum(), exhausted.sum());
+    }
+
+    private boolean backOff(int attempt) {
+        long ceiling = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.asr.catalogservice.domain;
+
+// conflicts counts every failed attempt, retries the ones followed by another attempt and
+// exhausted the operations that gave up.
+public record ConflictRetryStats(
+        long attempts,
+        long conflicts,
+        long retries,
+        long exhausted
+) {
+    public double conflictRate() {
+        return attempts == 0 ? 0 : (double) conflicts / attempts;
+    }
+}
@@ -0,0 +1,57 @@
+package com.asr.catalogservice.domain;
+
+import java.time.Duration;
+
+// The point in time by which the current request has to be answered. Bound by DeadlineFilter
+// for the product API; the Mongo template turns the remaining time into maxTimeMS on every
+// read, so the server gives up on a query once nobody is waiting for it any more.
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+    private final Duration budget;
+
+    private Deadline(long expiresAtNanos, Duration budget) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.budget = budget;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), budget);
+    }
+
+    // Null outside a request with a budget.
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public Duration budget() {
+        return budget;
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException(budget);
+        }
+    }
+
+    public static void bind(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,9 @@
+package com.asr.catalogservice.domain;
+
+import java.time.Duration;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(Duration budget) {
+        super("Request did not complete within its " + budget.toMillis() + "ms budget.");
+    }
+}
@@ -0,0 +1,35 @@
+package com.asr.catalogservice.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.function.BinaryOperator;
+
+// Materialized per-manufacturer summary, kept up to date by ProductStatsService.
+@Document("product_stats")
+public record ManufacturerStats(
+        @Id
+        String manufacturer,
+
+        long count,
+
+        long units,
+
+        double priceTotal,
+
+        Double minPrice,
+
+        Double maxPrice
+) {
+
+    // Merges the partial stats of the same manufacturer from two partitions.
+    ManufacturerStats combine(ManufacturerStats other) {
+        return new ManufacturerStats(manufacturer, count + other.count, units + other.units,
+                priceTotal + other.priceTotal, extreme(minPrice, other.minPrice, Math::min),
+                extreme(maxPrice, other.maxPrice, Math::max));
+    }
+
+    private static Double extreme(Double a, Double b, BinaryOperator<Double> pick) {
+        return a == null ? b : b == null ? a : pick.apply(a, b);
+    }
+}
@@ -0,0 +1,182 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveCallback;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+// Splits descriptions longer than inlineMaxLength off the product document when it is saved:
+// into product_descriptions, or into GridFS from gridFsMinLength on. The product document stays
+// small, so listings and the working set are not dominated by marketing text.
+//
+// The description is written after the product, tagged with the product version, and only
+// replaces an older version, so a save that lost an optimistic version race cannot overwrite
+// the winner's description. Durability across a crash between the product write and the
+// description write needs catalog.outbox.transactional: both then commit in the product save's
+// transaction. Without it such a crash leaves the product without its description until the
+// next save. GridFS takes no part in transactions, so large texts are stored first under a new
+// file id, and files the description no longer refers to are only deleted after the commit.
+// Descriptions of products moved between partitions are inlined again until the next save; under
+// the partitioned profile they are not in the product's transaction either.
+public class MongoProductDescriptionStore implements ProductDescriptionStore,
+        BeforeSaveCallback<Product>, AfterSaveCallback<Product> {
+    private static final Logger log = LoggerFactory.getLogger(MongoProductDescriptionStore.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final GridFsOperations gridFs;
+    private final ProductLayout layout;
+    private final int inlineMaxLength;
+    private final int gridFsMinLength;
+
+    public MongoProductDescriptionStore(MongoTemplate mongoTemplate, GridFsOperations gridFs, ProductLayout layout,
+                                        int inlineMaxLength, int gridFsMinLength) {
+        this.mongoTemplate = mongoTemplate;
+        this.gridFs = gridFs;
+        this.layout = layout;
+        this.inlineMaxLength = inlineMaxLength;
+        this.gridFsMinLength = gridFsMinLength;
+    }
+
+    @Override
+    public Product onBeforeSave(Product product, Document document, String collection) {
+        if (isSplit(product)) {
+            document.remove(layout.descriptionField());
+        }
+        return product;
+    }
+
+    // The saved product carries its id and new version, the first save of a product is version 1.
+    @Override
+    public Product onAfterSave(Product product, Document document, String collection) {
+        if (isSplit(product)) {
+            store(product.id(), product.version(), product.description());
+        } else if (product.version() > 1) {
+            removeOlderThan(product.id(), product.version());
+        }
+        return product;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            mongoTemplate.remove(query(where("id").is(event.productId())), ProductDescription.class);
+            gridFs.delete(query(whereFilename().is(event.productId())));
+        }
+    }
+
+    @Override
+    public Product load(Product product) {
+        if (product.description() != null || product.id() == null) {
+            return product;
+        }
+        var description = mongoTemplate.findById(product.id(), ProductDescription.class);
+        return description == null ? product : withDescription(product, text(description));
+    }
+
+    @Override
+    public List<Product> loadAll(List<Product> products) {
+        var ids = products.stream()
+                .filter(product -> product.description() == null && product.id() != null)
+                .map(Product::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return products;
+        }
+        Map<String, ProductDescription> descriptions = mongoTemplate
+                .find(query(where("id").in(ids)), ProductDescription.class).stream()
+                .collect(Collectors.toMap(ProductDescription::id, Function.identity()));
+        return products.stream()
+                .map(product -> {
+                    var description = product.description() == null ? descriptions.get(product.id()) : null;
+                    return description == null ? product : withDescription(product, text(description));
+                })
+                .toList();
+    }
+
+    private boolean isSplit(Product product) {
+        return product.description() != null && product.description().length() > inlineMaxLength;
+    }
+
+    private void store(String id, int version, String text) {
+        ObjectId fileId = null;
+        if (text.length() >= gridFsMinLength) {
+            fileId = gridFs.store(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), id, "text/plain",
+                    new Document("version", version));
+        }
+        try {
+            mongoTemplate.upsert(query(where("id").is(id).and("version").lt(version)),
+                    new Update().set("version", version).set("text", fileId == null ? text : null)
+                            .set("fileId", fileId),
+                    ProductDescription.class);
+        } catch (DuplicateKeyException e) {
+            // A newer version is already stored, the upsert missed it and collided on the id.
+            log.debug("Skipped description of product '{}' version {}, a newer one is stored", id, version);
+        }
+        if (version > 1) {
+            deleteOlderFilesAfterCommit(id, version);
+        }
+    }
+
+    private void removeOlderThan(String id, int version) {
+        mongoTemplate.remove(query(where("id").is(id).and("version").lt(version)), ProductDescription.class);
+        deleteOlderFilesAfterCommit(id, version);
+    }
+
+    // The older files stay referenced until the description update commits, a rollback must
+    // still find them.
+    private void deleteOlderFilesAfterCommit(String id, int version) {
+        Runnable delete = () -> gridFs.delete(query(whereFilename().is(id).and("metadata.version").lt(version)));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delete.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delete.run();
+            }
+        });
+    }
+
+    private String text(ProductDescription description) {
+        if (description.fileId() == null) {
+            return description.text();
+        }
+        var file = gridFs.findOne(query(where("_id").is(description.fileId())));
+        if (file == null) {
+            return null;
+        }
+        try (var in = gridFs.getResource(file).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Product withDescription(Product product, String description) {
+        return new Product(product.id(), product.name(), description, product.manufacturer(), product.price(),
+                product.units(), product.createdDate(), product.lastModifiedDate(), product.version());
+    }
+}
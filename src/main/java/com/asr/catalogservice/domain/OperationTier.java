@@ -0,0 +1,33 @@
+package com.asr.catalogservice.domain;
+
+import java.util.function.Supplier;
+
+// How durable or fresh a store operation has to be. ProductService declares the tier around
+// its repository calls and the Mongo template maps it to a write concern or read preference;
+// code outside such a call runs as INTERACTIVE_WRITE, i.e. with full durability on the primary.
+public enum OperationTier {
+    INTERACTIVE_WRITE,
+    BULK_WRITE,
+    READ;
+
+    private static final ThreadLocal<OperationTier> CURRENT = new ThreadLocal<>();
+
+    public static OperationTier current() {
+        var tier = CURRENT.get();
+        return tier == null ? INTERACTIVE_WRITE : tier;
+    }
+
+    public <T> T call(Supplier<T> operation) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -26,11 +27,13 @@ public record Product(
 
         @NotBlank(message = "Product must have a manufacturer.")
         @Size(min = 3, message = "Product manufacturer name must be at least 3 characters long.")
+        @Indexed
         String manufacturer,
 
         @NotNull(message = "Product must have a price.")
         @Min(value = 1, message = "Product price must be greater than zero")
         @Max(value = 1_000_000, message = "Product price is too high")
+        @Indexed
         Double price,
 
         @Max(value = 10_000, message = "Product must not have more than 10000 units.")
@@ -0,0 +1,50 @@
+package com.asr.catalogservice.domain;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.util.Objects;
+
+// Every pod keeps its own products cache and only sees its own writes, so changes made through
+// other pods are read from the change feed and evicted here. An entry is stale for at most the
+// change feed's settle time plus the poll interval, expireAfterWrite bounds it should polling fail.
+public class ProductCacheInvalidator {
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheInvalidator.class);
+
+    private final Cache cache;
+    private final ProductChangeService changeService;
+    private final int pageSize;
+    private final int maxPagesPerPoll;
+    private ChangeToken since;
+
+    public ProductCacheInvalidator(Cache cache, ProductChangeService changeService, int pageSize, int maxPagesPerPoll) {
+        this.cache = Objects.requireNonNull(cache, "Products cache is not configured");
+        this.changeService = changeService;
+        this.pageSize = pageSize;
+        this.maxPagesPerPoll = maxPagesPerPoll;
+        // The cache starts out empty, so only changes from now on can make an entry stale.
+        this.since = new ChangeToken(Instant.now(), "");
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.cache.invalidation.poll-interval}")
+    public synchronized void evictChanged() {
+        try {
+            for (int page = 0; page < maxPagesPerPoll; page++) {
+                // Only the ids are evicted, split descriptions are not worth loading every poll.
+                var changes = changeService.findChangesWithoutDescriptions(since, pageSize);
+                changes.changes().forEach(change -> cache.evict(change.id()));
+                if (changes.nextToken() != null) {
+                    since = ChangeToken.parse(changes.nextToken());
+                }
+                if (!changes.hasMore()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to read product changes for cache invalidation, retrying on next poll", e);
+        }
+    }
+}
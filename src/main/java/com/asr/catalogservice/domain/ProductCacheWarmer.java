@@ -0,0 +1,142 @@
+package com.asr.catalogservice.domain;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+// Persists the ids of the hottest cached products and preloads them on the next start.
+// Runs as an ApplicationRunner, so readiness is only reported once warm-up has finished or
+// its timeout has passed.
+public class ProductCacheWarmer implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(ProductCacheWarmer.class);
+
+    private final Cache cache;
+    private final ProductRepository repository;
+    private final ProductDescriptionStore descriptionStore;
+    private final Path snapshotFile;
+    private final int hotKeys;
+    private final int batchSize;
+    private final int concurrency;
+    private final Duration timeout;
+    private final IntFunction<List<String>> trackedHotIds;
+
+    public ProductCacheWarmer(Cache cache, ProductRepository repository, ProductDescriptionStore descriptionStore,
+                              Path snapshotFile, int hotKeys, int batchSize, int concurrency, Duration timeout) {
+        this(cache, repository, descriptionStore, snapshotFile, hotKeys, batchSize, concurrency, timeout,
+                limit -> List.of());
+    }
+
+    // trackedHotIds supplies ids ranked by observed read traffic, they take precedence over
+    // the cache's own frequency ranking when persisting hot keys.
+    public ProductCacheWarmer(Cache cache, ProductRepository repository, ProductDescriptionStore descriptionStore,
+                              Path snapshotFile, int hotKeys, int batchSize, int concurrency, Duration timeout,
+                              IntFunction<List<String>> trackedHotIds) {
+        this.cache = Objects.requireNonNull(cache, "Products cache is not configured");
+        this.repository = repository;
+        this.descriptionStore = descriptionStore;
+        this.snapshotFile = snapshotFile;
+        this.hotKeys = hotKeys;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+        this.trackedHotIds = trackedHotIds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        var ids = readSnapshot();
+        if (ids.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        var loaded = new AtomicInteger();
+        var tasks = new ArrayList<Callable<Void>>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            var batch = ids.subList(from, Math.min(ids.size(), from + batchSize));
+            tasks.add(() -> {
+                // Cached entries serve the detail view, so they carry the full description like findProductById.
+                var products = new ArrayList<Product>();
+                repository.findAllById(batch).forEach(products::add);
+                descriptionStore.loadAll(products).forEach(product -> {
+                    cache.put(product.id(), product);
+                    loaded.incrementAndGet();
+                });
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            // Batches still running when the timeout passes are cancelled.
+            executor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Warmed up products cache with {} of {} hot products in {}ms", loaded.get(), ids.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${catalog.cache.warm-up.snapshot-interval}",
+            initialDelayString = "${catalog.cache.warm-up.snapshot-interval}")
+    public void persistHotKeys() {
+        var ids = hottestIds();
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            var tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.write(tempFile, ids);
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to persist hot product ids to {}", snapshotFile, e);
+        }
+    }
+
+    // Caffeine already tracks access frequency for size based eviction, its hottest entries
+    // fill up whatever the read tracker did not rank.
+    List<String> hottestIds() {
+        var ids = new LinkedHashSet<>(trackedHotIds.apply(hotKeys));
+        if (ids.size() < hotKeys
+                && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            nativeCache.policy().eviction().ifPresent(eviction -> eviction.hottest(hotKeys).keySet().stream()
+                    .map(Object::toString)
+                    .forEach(ids::add));
+        }
+        return ids.stream().limit(hotKeys).toList();
+    }
+
+    private List<String> readSnapshot() {
+        if (!Files.exists(snapshotFile)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(snapshotFile).stream()
+                    .filter(line -> !line.isBlank())
+                    .limit(hotKeys)
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to read hot product ids from {}", snapshotFile, e);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.asr.catalogservice.domain;
+
+import java.time.Instant;
+
+// product is null for deletions.
+public record ProductChange(Type type, String id, Instant timestamp, Product product) {
+
+    public enum Type {
+        UPSERTED, DELETED
+    }
+
+    static ProductChange upserted(Product product) {
+        return new ProductChange(Type.UPSERTED, product.id(), product.lastModifiedDate(), product);
+    }
+
+    static ProductChange deleted(ProductTombstone tombstone) {
+        return new ProductChange(Type.DELETED, tombstone.id(), tombstone.deletedDate(), null);
+    }
+
+    ChangeToken token() {
+        return new ChangeToken(timestamp, id);
+    }
+}
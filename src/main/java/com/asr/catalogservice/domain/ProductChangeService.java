@@ -0,0 +1,132 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.partition.ProductPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@Profile("!embedded")
+public class ProductChangeService {
+    private static final Logger log = LoggerFactory.getLogger(ProductChangeService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductPartitions partitions;
+    private final ProductDescriptionStore descriptionStore;
+    private final Duration settleTime;
+
+    public ProductChangeService(MongoTemplate mongoTemplate, ProductPartitions partitions,
+                                ProductDescriptionStore descriptionStore,
+                                @Value("${catalog.changes.settle-time}") Duration settleTime) {
+        this.mongoTemplate = mongoTemplate;
+        this.partitions = partitions;
+        this.descriptionStore = descriptionStore;
+        this.settleTime = settleTime;
+    }
+
+    // Inside a transaction a failed tombstone rolls the delete back with it. Without one the delete
+    // has already succeeded, so the failure is logged rather than reported to the client, and
+    // change feed consumers miss that delete.
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.type() != ProductChangedEvent.Type.DELETED) {
+            return;
+        }
+        var tombstone = new ProductTombstone(event.productId(), Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            mongoTemplate.save(tombstone);
+            return;
+        }
+        try {
+            mongoTemplate.save(tombstone);
+        } catch (RuntimeException e) {
+            log.error("Failed to record tombstone for deleted product '{}'", event.productId(), e);
+        }
+    }
+
+    // Consumers mirror full products, so split descriptions are filled in with one lookup per page.
+    public ProductChanges findChanges(ChangeToken since, int limit) {
+        var page = findChangesWithoutDescriptions(since, limit);
+        return new ProductChanges(withDescriptions(page.changes()), page.nextToken(), page.hasMore());
+    }
+
+    // Products keep whatever description the product document holds, for callers that only need
+    // the ids. Both collections are read through their (timestamp, _id) indexes starting at the
+    // token, so a page costs O(limit) regardless of catalog size.
+    public ProductChanges findChangesWithoutDescriptions(ChangeToken since, int limit) {
+        var until = Instant.now().minus(settleTime);
+        // Each partition returns its first limit + 1 changes, the merged page is taken from those.
+        var products = partitions.scatter(template -> template.find(
+                        query(window("lastModifiedDate", since, until))
+                                .with(Sort.by("lastModifiedDate", "id"))
+                                .limit(limit + 1),
+                        Product.class)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Product::lastModifiedDate).thenComparing(Product::id))
+                .limit(limit + 1)
+                .toList();
+        var tombstones = mongoTemplate.find(
+                query(window("deletedDate", since, until))
+                        .with(Sort.by("deletedDate", "id"))
+                        .limit(limit + 1),
+                ProductTombstone.class);
+
+        var changes = new ArrayList<ProductChange>(limit);
+        int p = 0;
+        int t = 0;
+        while (changes.size() < limit && (p < products.size() || t < tombstones.size())) {
+            var nextProduct = p < products.size() ? ProductChange.upserted(products.get(p)) : null;
+            var nextTombstone = t < tombstones.size() ? ProductChange.deleted(tombstones.get(t)) : null;
+            if (nextTombstone == null || (nextProduct != null
+                    && nextProduct.token().isBefore(nextTombstone.timestamp(), nextTombstone.id()))) {
+                changes.add(nextProduct);
+                p++;
+            } else {
+                changes.add(nextTombstone);
+                t++;
+            }
+        }
+        boolean hasMore = p < products.size() || t < tombstones.size();
+        var nextToken = changes.isEmpty() ? since : changes.get(changes.size() - 1).token();
+        return new ProductChanges(changes, nextToken == null ? null : nextToken.encode(), hasMore);
+    }
+
+    private List<ProductChange> withDescriptions(List<ProductChange> changes) {
+        var loaded = descriptionStore.loadAll(changes.stream()
+                .map(ProductChange::product)
+                .filter(Objects::nonNull)
+                .toList()).iterator();
+        return changes.stream()
+                .map(change -> change.product() == null ? change : ProductChange.upserted(loaded.next()))
+                .toList();
+    }
+
+    private static Criteria window(String timestampField, ChangeToken since, Instant until) {
+        var beforeUntil = where(timestampField).lt(until);
+        if (since == null) {
+            return beforeUntil;
+        }
+        var afterSince = new Criteria().orOperator(
+                where(timestampField).gt(since.timestamp()),
+                where(timestampField).is(since.timestamp()).and("id").gt(since.id()));
+        return new Criteria().andOperator(afterSince, beforeUntil);
+    }
+}
@@ -0,0 +1,26 @@
+package com.asr.catalogservice.domain;
+
+// Published by ProductService after every successful write, carrying the product
+// state before and after the change (previous is null on create, current on delete).
+public record ProductChangedEvent(Type type, Product previous, Product current) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(Type.CREATED, null, product);
+    }
+
+    public static ProductChangedEvent updated(Product previous, Product current) {
+        return new ProductChangedEvent(Type.UPDATED, previous, current);
+    }
+
+    public static ProductChangedEvent deleted(Product product) {
+        return new ProductChangedEvent(Type.DELETED, product, null);
+    }
+
+    public String productId() {
+        return current != null ? current.id() : previous.id();
+    }
+}
@@ -0,0 +1,8 @@
+package com.asr.catalogservice.domain;
+
+import java.util.List;
+
+// nextToken is passed back as "since" to fetch the following page, it stays the same when
+// there are no new changes.
+public record ProductChanges(List<ProductChange> changes, String nextToken, boolean hasMore) {
+}
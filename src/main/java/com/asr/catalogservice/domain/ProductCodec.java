@@ -0,0 +1,147 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Hand written BSON codec for Product, used for raw driver access to the product collection.
+// It writes the same layout as ProductConverters, so documents are interchangeable, and like
+// them reads either layout.
+public class ProductCodec implements Codec<Product> {
+    public static final String ID = "_id";
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String MANUFACTURER = "manufacturer";
+    public static final String PRICE = "price";
+    public static final String UNITS = "units";
+    public static final String CREATED_DATE = "createdDate";
+    public static final String LAST_MODIFIED_DATE = "lastModifiedDate";
+    public static final String VERSION = "version";
+
+    // Field name in either layout -> standard field name.
+    private static final Map<String, String> STANDARD_BY_COMPACT = Arrays.stream(ProductLayout.values())
+            .flatMap(layout -> Stream.of("name", "description", "manufacturer", "price", "units", "createdDate",
+                    "lastModifiedDate", "version").map(property -> Map.entry(
+                    layout.fieldFor(property), ProductLayout.STANDARD.fieldFor(property))))
+            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a));
+
+    private final ProductLayout layout;
+
+    public ProductCodec() {
+        this(ProductLayout.STANDARD);
+    }
+
+    public ProductCodec(ProductLayout layout) {
+        this.layout = layout;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Product product, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (product.id() != null) {
+            if (ObjectId.isValid(product.id())) {
+                writer.writeObjectId(ID, new ObjectId(product.id()));
+            } else {
+                writer.writeString(ID, product.id());
+            }
+        }
+        writeString(writer, layout.nameField(), product.name());
+        writeString(writer, layout.descriptionField(), product.description());
+        writeString(writer, layout.manufacturerField(), product.manufacturer());
+        if (product.price() != null) {
+            if (layout == ProductLayout.COMPACT) {
+                writer.writeDecimal128(layout.priceField(), new Decimal128(BigDecimal.valueOf(product.price())));
+            } else {
+                writer.writeDouble(layout.priceField(), product.price());
+            }
+        }
+        if (product.units() != null) {
+            if (layout == ProductLayout.COMPACT) {
+                writer.writeInt32(layout.unitsField(), Math.toIntExact(product.units()));
+            } else {
+                writer.writeInt64(layout.unitsField(), product.units());
+            }
+        }
+        writeInstant(writer, layout.createdDateField(), product.createdDate());
+        writeInstant(writer, layout.lastModifiedDateField(), product.lastModifiedDate());
+        writer.writeInt32(layout.versionField(), product.version());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Product decode(BsonReader reader, DecoderContext decoderContext) {
+        String id = null;
+        String name = null;
+        String description = null;
+        String manufacturer = null;
+        Double price = null;
+        Long units = null;
+        Instant createdDate = null;
+        Instant lastModifiedDate = null;
+        int version = 0;
+
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            var fieldName = reader.readName();
+            var field = STANDARD_BY_COMPACT.getOrDefault(fieldName, fieldName);
+            if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (field) {
+                case ID -> id = reader.getCurrentBsonType() == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString();
+                case NAME -> name = reader.readString();
+                case DESCRIPTION -> description = reader.readString();
+                case MANUFACTURER -> manufacturer = reader.readString();
+                case PRICE -> price = readNumber(reader).doubleValue();
+                case UNITS -> units = readNumber(reader).longValue();
+                case CREATED_DATE -> createdDate = Instant.ofEpochMilli(reader.readDateTime());
+                case LAST_MODIFIED_DATE -> lastModifiedDate = Instant.ofEpochMilli(reader.readDateTime());
+                case VERSION -> version = readNumber(reader).intValue();
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return new Product(id, name, description, manufacturer, price, units, createdDate, lastModifiedDate, version);
+    }
+
+    @Override
+    public Class<Product> getEncoderClass() {
+        return Product.class;
+    }
+
+    private static void writeString(BsonWriter writer, String field, String value) {
+        if (value != null) {
+            writer.writeString(field, value);
+        }
+    }
+
+    private static void writeInstant(BsonWriter writer, String field, Instant value) {
+        if (value != null) {
+            writer.writeDateTime(field, value.toEpochMilli());
+        }
+    }
+
+    private static Number readNumber(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128();
+            default -> reader.readDouble();
+        };
+    }
+}
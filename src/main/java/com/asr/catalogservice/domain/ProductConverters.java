@@ -0,0 +1,116 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static com.asr.catalogservice.domain.ProductCodec.ID;
+
+// Explicit Product <-> Document mapping for Spring Data, replacing the reflective
+// MappingMongoConverter path on every repository and MongoTemplate read and write.
+// Ids, auditing dates and versions are still set by Spring Data on the Product before it
+// gets here, this only has to keep the stored layout identical to the mapped one. Writes use
+// the configured ProductLayout, reads accept both.
+public final class ProductConverters {
+
+    private ProductConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return all(ProductLayout.STANDARD);
+    }
+
+    public static List<Converter<?, ?>> all(ProductLayout layout) {
+        var writeConverter = layout == ProductLayout.COMPACT
+                ? ProductWriteConverter.COMPACT
+                : ProductWriteConverter.INSTANCE;
+        return List.of(writeConverter, ProductReadConverter.INSTANCE);
+    }
+
+    public static Document toDocument(Product product, ProductLayout layout) {
+        return ProductWriteConverter.write(product, layout);
+    }
+
+    public static Product fromDocument(Document document) {
+        return ProductReadConverter.INSTANCE.convert(document);
+    }
+
+    @WritingConverter
+    enum ProductWriteConverter implements Converter<Product, Document> {
+        INSTANCE(ProductLayout.STANDARD),
+        COMPACT(ProductLayout.COMPACT);
+
+        private final ProductLayout layout;
+
+        ProductWriteConverter(ProductLayout layout) {
+            this.layout = layout;
+        }
+
+        @Override
+        public Document convert(Product product) {
+            return write(product, layout);
+        }
+
+        static Document write(Product product, ProductLayout layout) {
+            var document = new Document();
+            if (product.id() != null) {
+                document.put(ID, ObjectId.isValid(product.id()) ? new ObjectId(product.id()) : product.id());
+            }
+            putIfNotNull(document, layout.nameField(), product.name());
+            putIfNotNull(document, layout.descriptionField(), product.description());
+            putIfNotNull(document, layout.manufacturerField(), product.manufacturer());
+            putIfNotNull(document, layout.priceField(), product.price() == null ? null : layout.price(product.price()));
+            putIfNotNull(document, layout.unitsField(), product.units() == null ? null : layout.units(product.units()));
+            putIfNotNull(document, layout.createdDateField(), toDate(product.createdDate()));
+            putIfNotNull(document, layout.lastModifiedDateField(), toDate(product.lastModifiedDate()));
+            document.put(layout.versionField(), product.version());
+            return document;
+        }
+
+        private static void putIfNotNull(Document document, String field, Object value) {
+            if (value != null) {
+                document.put(field, value);
+            }
+        }
+
+        private static Date toDate(Instant instant) {
+            return instant == null ? null : Date.from(instant);
+        }
+    }
+
+    @ReadingConverter
+    enum ProductReadConverter implements Converter<Document, Product> {
+        INSTANCE;
+
+        // A document is in the compact layout when it has a compact version field, every
+        // product document has a version.
+        @Override
+        public Product convert(Document document) {
+            var layout = document.containsKey(ProductLayout.COMPACT.versionField())
+                    ? ProductLayout.COMPACT
+                    : ProductLayout.STANDARD;
+            var id = document.get(ID);
+            return new Product(
+                    id instanceof ObjectId objectId ? objectId.toHexString() : (String) id,
+                    document.getString(layout.nameField()),
+                    document.getString(layout.descriptionField()),
+                    document.getString(layout.manufacturerField()),
+                    document.get(layout.priceField()) instanceof Number price ? price.doubleValue() : null,
+                    document.get(layout.unitsField()) instanceof Number units ? units.longValue() : null,
+                    toInstant(document.get(layout.createdDateField())),
+                    toInstant(document.get(layout.lastModifiedDateField())),
+                    document.get(layout.versionField()) instanceof Number version ? version.intValue() : 0
+            );
+        }
+
+        private static Instant toInstant(Object value) {
+            return value instanceof Date date ? date.toInstant() : null;
+        }
+    }
+}
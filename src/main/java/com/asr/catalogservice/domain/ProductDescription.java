@@ -0,0 +1,21 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// A description split off its product, keyed by the product id. version is the product version
+// it was written for; text is null when the description is too large and lives in the GridFS file
+// fileId.
+@Document("product_descriptions")
+public record ProductDescription(
+        @Id
+        String id,
+
+        int version,
+
+        String text,
+
+        ObjectId fileId
+) {
+}
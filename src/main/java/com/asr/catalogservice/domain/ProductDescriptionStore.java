@@ -0,0 +1,14 @@
+package com.asr.catalogservice.domain;
+
+import java.util.List;
+
+// Keeps descriptions too large for the product document out of it. The repository returns such
+// products without a description, the views that show it fill it in through the store.
+public interface ProductDescriptionStore {
+
+    // Returns the product with its description, unchanged when it was already there.
+    Product load(Product product);
+
+    // Same as load, one round trip for the whole list.
+    List<Product> loadAll(List<Product> products);
+}
@@ -0,0 +1,25 @@
+package com.asr.catalogservice.domain;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+// Product indexes spelled out per layout. @Indexed properties are also created by Spring Data's
+// auto index creation under the same names, the compound delta-sync index is only created here
+// because @CompoundIndex definitions are not translated to the active field names.
+public final class ProductIndexes {
+
+    private ProductIndexes() {
+    }
+
+    public static void ensure(MongoTemplate template, String collection, ProductLayout layout) {
+        var indexOps = template.indexOps(collection);
+        indexOps.ensureIndex(new Index(layout.manufacturerField(), Sort.Direction.ASC)
+                .named(layout.manufacturerField()));
+        indexOps.ensureIndex(new Index(layout.priceField(), Sort.Direction.ASC)
+                .named(layout.priceField()));
+        indexOps.ensureIndex(new Index(layout.lastModifiedDateField(), Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(layout.lastModifiedDateField() + "_id"));
+    }
+}
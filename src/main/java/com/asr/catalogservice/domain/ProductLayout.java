@@ -0,0 +1,93 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+
+// How a Product is laid out in its document. COMPACT uses one-letter field names, stores the
+// price as Decimal128 and units as int32; it saves about 60 bytes per document. Decimal128
+// rather than integer cents keeps price comparisons and aggregations working unchanged, since
+// Mongo compares numbers across types by value. Readers accept either layout, so a collection
+// can be migrated while it is in use.
+public enum ProductLayout {
+    STANDARD(ProductCodec.NAME, ProductCodec.DESCRIPTION, ProductCodec.MANUFACTURER, ProductCodec.PRICE,
+            ProductCodec.UNITS, ProductCodec.CREATED_DATE, ProductCodec.LAST_MODIFIED_DATE, ProductCodec.VERSION),
+    COMPACT("n", "d", "m", "p", "u", "c", "l", "v");
+
+    private final String nameField;
+    private final String descriptionField;
+    private final String manufacturerField;
+    private final String priceField;
+    private final String unitsField;
+    private final String createdDateField;
+    private final String lastModifiedDateField;
+    private final String versionField;
+
+    ProductLayout(String nameField, String descriptionField, String manufacturerField, String priceField,
+                  String unitsField, String createdDateField, String lastModifiedDateField, String versionField) {
+        this.nameField = nameField;
+        this.descriptionField = descriptionField;
+        this.manufacturerField = manufacturerField;
+        this.priceField = priceField;
+        this.unitsField = unitsField;
+        this.createdDateField = createdDateField;
+        this.lastModifiedDateField = lastModifiedDateField;
+        this.versionField = versionField;
+    }
+
+    public String nameField() {
+        return nameField;
+    }
+
+    public String descriptionField() {
+        return descriptionField;
+    }
+
+    public String manufacturerField() {
+        return manufacturerField;
+    }
+
+    public String priceField() {
+        return priceField;
+    }
+
+    public String unitsField() {
+        return unitsField;
+    }
+
+    public String createdDateField() {
+        return createdDateField;
+    }
+
+    public String lastModifiedDateField() {
+        return lastModifiedDateField;
+    }
+
+    public String versionField() {
+        return versionField;
+    }
+
+    // The stored field of a Product property, null for the id and unknown properties.
+    public String fieldFor(String property) {
+        return switch (property) {
+            case "name" -> nameField;
+            case "description" -> descriptionField;
+            case "manufacturer" -> manufacturerField;
+            case "price" -> priceField;
+            case "units" -> unitsField;
+            case "createdDate" -> createdDateField;
+            case "lastModifiedDate" -> lastModifiedDateField;
+            case "version" -> versionField;
+            default -> null;
+        };
+    }
+
+    Object price(Double price) {
+        return this == COMPACT ? new Decimal128(BigDecimal.valueOf(price)) : price;
+    }
+
+    // Units are validated to at most 10000, int32 is plenty.
+    Object units(Long units) {
+        return this == COMPACT ? (Object) Math.toIntExact(units) : units;
+    }
+}
@@ -2,6 +2,16 @@ package com.asr.catalogservice.domain;
 
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface ProductRepository extends CrudRepository<Product, String> {
     boolean existsByName(String name);
+
+    List<Product> findByNameIn(Collection<String> names);
+
+    List<Product> findByManufacturer(String manufacturer);
+
+    // Both bounds are exclusive.
+    List<Product> findByPriceBetween(Double from, Double to);
 }
@@ -1,45 +1,106 @@
 package com.asr.catalogservice.domain;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 @Service
 public class ProductService {
+    public static final String PRODUCTS_CACHE = "products";
 
     private final ProductRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConflictRetryPolicy conflictRetryPolicy;
+    private final ProductDescriptionStore descriptionStore;
 
-    public ProductService(ProductRepository repository) {
+    public ProductService(ProductRepository repository, ApplicationEventPublisher eventPublisher,
+                          ConflictRetryPolicy conflictRetryPolicy, ProductDescriptionStore descriptionStore) {
         this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.conflictRetryPolicy = conflictRetryPolicy;
+        this.descriptionStore = descriptionStore;
     }
 
+    // Large descriptions are left out, see loadDescriptions.
     public Iterable<Product> findAllProducts() {
-        return repository.findAll();
+        return OperationTier.READ.call(repository::findAll);
+    }
+
+    public List<Product> loadDescriptions(Iterable<Product> products) {
+        var list = StreamSupport.stream(products.spliterator(), false).toList();
+        return OperationTier.READ.call(() -> descriptionStore.loadAll(list));
     }
 
+    // The detail view, always with the full description. Read from the primary rather than the READ
+    // tier: the result is cached, and a secondary's lag would otherwise be served for the entry's lifetime.
+    @Cacheable(PRODUCTS_CACHE)
     public Product findProductById(String id) {
-        return repository.findById(id)
+        return repository.findById(id).map(descriptionStore::load)
                 .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    @Transactional
     public Product saveProduct(Product product) {
         if (repository.existsByName(product.name())) {
             throw new ProductAlreadyExistsException(product.name());
         }
-        // Number of units should default to 1 if not specified.
-        if (product.units() == null || product.units() == 0) {
-            product = Product.of(product.name(), product.description(), product.manufacturer(), product.price(), product.units());
+        var savedProduct = repository.save(withDefaultUnits(product));
+        eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct));
+        return savedProduct;
+    }
+
+    // All or nothing with respect to name conflicts, either within the batch or with existing products.
+    // Existing names are looked up with one query for the whole batch.
+    @Transactional
+    public List<Product> saveProducts(List<Product> products) {
+        var names = new HashSet<String>();
+        for (var product : products) {
+            if (!names.add(product.name())) {
+                throw new ProductAlreadyExistsException(product.name());
+            }
+        }
+        var existingNames = repository.findByNameIn(names).stream()
+                .map(Product::name)
+                .collect(Collectors.toSet());
+        for (var product : products) {
+            if (existingNames.contains(product.name())) {
+                throw new ProductAlreadyExistsException(product.name());
+            }
         }
-        return repository.save(product);
+        var productsToSave = products.stream().map(ProductService::withDefaultUnits).toList();
+        var saved = OperationTier.BULK_WRITE.call(() -> repository.saveAll(productsToSave));
+        var savedProducts = StreamSupport.stream(saved.spliterator(), false).toList();
+        savedProducts.forEach(savedProduct -> eventPublisher.publishEvent(ProductChangedEvent.created(savedProduct)));
+        return savedProducts;
     }
 
+    @Transactional
+    @CacheEvict(PRODUCTS_CACHE)
     public void deleteProductById(String id) {
-        if (!repository.existsById(id)) {
-            throw new ProductNotFoundException(id);
-        }
+        // Load the product rather than only checking existence, listeners need its last state.
+        var product = repository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
         repository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(product));
     }
 
     // TODO: Rethink about refactor, whether only update product details or create new one if not exists
+    // Not @Transactional, the retry policy runs every attempt in a transaction of its own and
+    // each attempt re-reads the product, so the change is applied on top of the write that won.
+    @CachePut(cacheNames = PRODUCTS_CACHE, key = "#result.id()")
     public Product updateProduct(String id, Product product) {
+        return conflictRetryPolicy.execute(id, () -> attemptUpdate(id, product));
+    }
+
+    private Product attemptUpdate(String id, Product product) {
         return repository.findById(id)
                 .map(existingProduct -> {
                     var productToUpdate = new Product(
@@ -53,9 +114,19 @@ public class ProductService {
                             existingProduct.lastModifiedDate(),
                             existingProduct.version()
                     );
-                    return repository.save(productToUpdate);
+                    var updatedProduct = repository.save(productToUpdate);
+                    eventPublisher.publishEvent(ProductChangedEvent.updated(existingProduct, updatedProduct));
+                    return updatedProduct;
                 })
                 .orElseGet(() -> saveProduct(product));
     }
 
+    private static Product withDefaultUnits(Product product) {
+        // Number of units should default to 1 if not specified.
+        if (product.units() == null || product.units() == 0) {
+            return Product.of(product.name(), product.description(), product.manufacturer(), product.price(), product.units());
+        }
+        return product;
+    }
+
 }
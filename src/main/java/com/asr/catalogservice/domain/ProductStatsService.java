@@ -0,0 +1,147 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.partition.ProductPartitions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+@Service
+@Profile("!embedded")
+public class ProductStatsService {
+    private static final Logger log = LoggerFactory.getLogger(ProductStatsService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ProductPartitions partitions;
+
+    public ProductStatsService(MongoTemplate mongoTemplate, ProductPartitions partitions) {
+        this.mongoTemplate = mongoTemplate;
+        this.partitions = partitions;
+    }
+
+    // Reads only the summary collection, one small document per manufacturer.
+    public CatalogStats getCatalogStats() {
+        return CatalogStats.of(mongoTemplate.findAll(ManufacturerStats.class));
+    }
+
+    // After the commit with transactional product writes: concurrent $inc upserts on one
+    // manufacturer document would otherwise write-conflict and abort the product transaction.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            applyChange(event.previous(), event.current());
+        } catch (RuntimeException e) {
+            // The product write already succeeded, the next reconcile repairs the summary.
+            log.warn("Failed to update catalog stats for product '{}'", event.productId(), e);
+        }
+    }
+
+    private void applyChange(Product previous, Product current) {
+        // Counts and sums can be reverted with $inc, but removing the current min or max
+        // price needs the remaining products, so such manufacturers are recomputed instead.
+        Set<String> staleManufacturers = new HashSet<>();
+        if (previous != null) {
+            if (isPriceExtreme(previous)) {
+                staleManufacturers.add(previous.manufacturer());
+            } else {
+                increment(previous, -1);
+            }
+        }
+        if (current != null && !staleManufacturers.contains(current.manufacturer())) {
+            increment(current, 1);
+        }
+        staleManufacturers.forEach(this::recompute);
+    }
+
+    private boolean isPriceExtreme(Product product) {
+        var stats = mongoTemplate.findById(product.manufacturer(), ManufacturerStats.class);
+        return stats == null || product.price() == null || stats.minPrice() == null || stats.maxPrice() == null
+                || product.price() <= stats.minPrice() || product.price() >= stats.maxPrice();
+    }
+
+    private void increment(Product product, int sign) {
+        var price = product.price() == null ? 0 : product.price();
+        var units = product.units() == null ? 0 : product.units();
+        var update = new Update()
+                .inc("count", sign)
+                .inc("units", sign * units)
+                .inc("priceTotal", sign * price);
+        if (sign > 0) {
+            update.min("minPrice", price).max("maxPrice", price);
+        }
+        var byManufacturer = query(where("_id").is(product.manufacturer()));
+        mongoTemplate.upsert(byManufacturer, update, ManufacturerStats.class);
+        if (sign < 0) {
+            mongoTemplate.remove(query(where("_id").is(product.manufacturer()).and("count").lte(0)),
+                    ManufacturerStats.class);
+        }
+    }
+
+    private void recompute(String manufacturer) {
+        var merged = aggregate(match(where("manufacturer").is(manufacturer)), groupByManufacturer());
+        var stats = merged.isEmpty() ? null : merged.get(0);
+        if (stats == null) {
+            mongoTemplate.remove(query(where("_id").is(manufacturer)), ManufacturerStats.class);
+        } else {
+            mongoTemplate.save(stats);
+        }
+    }
+
+    // Rebuilds the whole summary from the products collection, correcting any drift left
+    // by failed or racing incremental updates.
+    @Scheduled(fixedDelayString = "${catalog.stats.reconcile-interval}",
+            initialDelayString = "${catalog.stats.reconcile-interval}")
+    public void reconcile() {
+        List<ManufacturerStats> stats = aggregate(groupByManufacturer());
+        stats.forEach(mongoTemplate::save);
+        var manufacturers = stats.stream().map(ManufacturerStats::manufacturer).toList();
+        mongoTemplate.remove(query(where("_id").nin(manufacturers)), ManufacturerStats.class);
+        log.debug("Reconciled catalog stats for {} manufacturers", manufacturers.size());
+    }
+
+    // Groups on every product partition and merges the partial results per manufacturer.
+    private List<ManufacturerStats> aggregate(AggregationOperation... operations) {
+        Map<String, ManufacturerStats> merged = new LinkedHashMap<>();
+        partitions.scatter(template -> template
+                        .aggregate(Aggregation.newAggregation(operations), Product.class, ManufacturerStats.class)
+                        .getMappedResults())
+                .forEach(partial -> partial.forEach(stats ->
+                        merged.merge(stats.manufacturer(), stats, ManufacturerStats::combine)));
+        return List.copyOf(merged.values());
+    }
+
+    // The compact layout stores prices as Decimal128, converting keeps the stats as doubles.
+    private static GroupOperation groupByManufacturer() {
+        return group("manufacturer")
+                .count().as("count")
+                .sum("units").as("units")
+                .sum(price()).as("priceTotal")
+                .min(price()).as("minPrice")
+                .max(price()).as("maxPrice");
+    }
+
+    private static AggregationExpression price() {
+        return ConvertOperators.valueOf("price").convertToDouble();
+    }
+}
@@ -0,0 +1,21 @@
+package com.asr.catalogservice.domain;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Marks a deleted product for delta-sync consumers. Tombstones expire after 30 days, a
+// consumer that has not synced for longer has to reload the full catalog.
+@Document("product_tombstones")
+@CompoundIndex(name = "deletedDate_id", def = "{'deletedDate': 1, '_id': 1}")
+public record ProductTombstone(
+        @Id
+        String id,
+
+        @Indexed(expireAfter = "30d")
+        Instant deletedDate
+) {
+}
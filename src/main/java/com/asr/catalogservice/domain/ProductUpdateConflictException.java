@@ -0,0 +1,8 @@
+package com.asr.catalogservice.domain;
+
+public class ProductUpdateConflictException extends RuntimeException {
+    public ProductUpdateConflictException(String id, int attempts, Throwable cause) {
+        super("Product with ID '" + id + "' was modified concurrently, gave up after " + attempts + " attempts.",
+                cause);
+    }
+}
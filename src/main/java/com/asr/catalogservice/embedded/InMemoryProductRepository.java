@@ -0,0 +1,291 @@
+package com.asr.catalogservice.embedded;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ProductRepository without MongoDB. Reads are lock-free lookups in concurrent maps, writes are
+// serialized by a single lock that keeps the indexes and the journal in step. Ids, auditing
+// dates and the optimistic version follow what Spring Data MongoDB does for Product.
+public class InMemoryProductRepository implements ProductRepository, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProductRepository.class);
+
+    private final Map<String, Product> productsById = new ConcurrentHashMap<>();
+    private final Map<String, String> idsByName = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> idsByManufacturer = new ConcurrentHashMap<>();
+    private final NavigableMap<Double, Set<String>> idsByPrice = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ProductJournal journal;
+
+    public InMemoryProductRepository(Path directory, int logCapacity, boolean syncWrites) {
+        this.journal = new ProductJournal(directory, logCapacity, syncWrites);
+        long start = System.nanoTime();
+        journal.recover(this::index, id -> unindex(productsById.get(id)));
+        log.info("Recovered {} products from {} in {}ms", productsById.size(), directory,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Product> S save(S product) {
+        writeLock.lock();
+        try {
+            var existing = product.id() == null ? null : productsById.get(product.id());
+            var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+            Product stored;
+            if (product.version() == 0) {
+                if (existing != null) {
+                    throw new DuplicateKeyException("Product with ID '" + product.id() + "' already exists.");
+                }
+                stored = new Product(product.id() != null ? product.id() : new ObjectId().toHexString(),
+                        product.name(), product.description(), product.manufacturer(), product.price(),
+                        product.units(), now, now, 1);
+            } else {
+                if (existing == null || existing.version() != product.version()) {
+                    throw new OptimisticLockingFailureException("Product with ID '" + product.id()
+                            + "' and version " + product.version() + " was modified or deleted concurrently.");
+                }
+                stored = new Product(product.id(), product.name(), product.description(), product.manufacturer(),
+                        product.price(), product.units(), existing.createdDate(), now, product.version() + 1);
+            }
+            var ownerOfName = idsByName.get(stored.name());
+            if (ownerOfName != null && !ownerOfName.equals(stored.id())) {
+                throw new DuplicateKeyException("Product with name '" + stored.name() + "' already exists.");
+            }
+            if (!journal.appendPut(stored)) {
+                snapshotLocked();
+                if (!journal.appendPut(stored)) {
+                    throw new IllegalStateException("Product '" + stored.id() + "' does not fit in the product log.");
+                }
+            }
+            index(stored);
+            return (S) stored;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public <S extends Product> Iterable<S> saveAll(Iterable<S> products) {
+        var saved = new ArrayList<S>();
+        products.forEach(product -> saved.add(save(product)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(productsById.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return productsById.containsKey(id);
+    }
+
+    @Override
+    public Iterable<Product> findAll() {
+        return List.copyOf(productsById.values());
+    }
+
+    @Override
+    public Iterable<Product> findAllById(Iterable<String> ids) {
+        var products = new ArrayList<Product>();
+        ids.forEach(id -> findById(id).ifPresent(products::add));
+        return products;
+    }
+
+    @Override
+    public long count() {
+        return productsById.size();
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return idsByName.containsKey(name);
+    }
+
+    @Override
+    public List<Product> findByNameIn(Collection<String> names) {
+        return names.stream()
+                .map(idsByName::get)
+                .filter(Objects::nonNull)
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findByManufacturer(String manufacturer) {
+        return lookup(idsByManufacturer.getOrDefault(manufacturer, Set.of()));
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(Double from, Double to) {
+        var products = new ArrayList<Product>();
+        idsByPrice.subMap(from, false, to, false).values()
+                .forEach(ids -> products.addAll(lookup(ids)));
+        return products;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        writeLock.lock();
+        try {
+            var existing = productsById.get(id);
+            if (existing != null) {
+                appendDelete(id);
+                unindex(existing);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(Product product) {
+        writeLock.lock();
+        try {
+            var existing = productsById.get(product.id());
+            if (existing != null && existing.version() != product.version()) {
+                throw new OptimisticLockingFailureException("Product with ID '" + product.id()
+                        + "' and version " + product.version() + " was modified concurrently.");
+            }
+            deleteById(product.id());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Product> products) {
+        products.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        writeLock.lock();
+        try {
+            List.copyOf(productsById.keySet()).forEach(this::deleteById);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Compacts the log into a fresh snapshot, bounding recovery time to one snapshot read plus
+    // at most one interval of log records.
+    @Scheduled(fixedDelayString = "${catalog.embedded.snapshot-interval}",
+            initialDelayString = "${catalog.embedded.snapshot-interval}")
+    public void snapshot() {
+        writeLock.lock();
+        try {
+            if (!journal.isEmpty()) {
+                snapshotLocked();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshot();
+        journal.close();
+    }
+
+    private void snapshotLocked() {
+        long start = System.nanoTime();
+        journal.snapshot(productsById.values());
+        log.debug("Wrote snapshot of {} products in {}ms", productsById.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void appendDelete(String id) {
+        if (!journal.appendDelete(id)) {
+            snapshotLocked();
+            journal.appendDelete(id);
+        }
+    }
+
+    // Called with the write lock held (or during recovery). Secondary entries are added before
+    // the product is published in the primary index, and stale ones removed after, so readers
+    // never miss a product that exists.
+    private void index(Product product) {
+        var previous = productsById.get(product.id());
+        idsByName.put(product.name(), product.id());
+        if (product.manufacturer() != null) {
+            idsByManufacturer.computeIfAbsent(product.manufacturer(), key -> ConcurrentHashMap.newKeySet())
+                    .add(product.id());
+        }
+        if (product.price() != null) {
+            idsByPrice.computeIfAbsent(product.price(), key -> ConcurrentHashMap.newKeySet()).add(product.id());
+        }
+        productsById.put(product.id(), product);
+        if (previous != null) {
+            if (!Objects.equals(previous.name(), product.name())) {
+                idsByName.remove(previous.name(), product.id());
+            }
+            if (!Objects.equals(previous.manufacturer(), product.manufacturer())) {
+                removeFrom(idsByManufacturer, previous.manufacturer(), product.id());
+            }
+            if (!Objects.equals(previous.price(), product.price())) {
+                removeFrom(idsByPrice, previous.price(), product.id());
+            }
+        }
+    }
+
+    private void unindex(Product product) {
+        if (product == null) {
+            return;
+        }
+        productsById.remove(product.id());
+        idsByName.remove(product.name(), product.id());
+        removeFrom(idsByManufacturer, product.manufacturer(), product.id());
+        removeFrom(idsByPrice, product.price(), product.id());
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        var ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key, ids);
+            }
+        }
+    }
+
+    private List<Product> lookup(Set<String> ids) {
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
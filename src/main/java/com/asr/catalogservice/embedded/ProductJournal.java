@@ -0,0 +1,177 @@
+package com.asr.catalogservice.embedded;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductCodec;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Persistence of the embedded store: a memory-mapped append-only log of puts and deletes,
+// compacted into a memory-mapped snapshot file. Both files hold records of
+// [int length][int crc32][byte op][payload], the log is terminated by a zero length.
+// Not thread safe, the repository serializes all writes.
+class ProductJournal implements Closeable {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final ProductCodec codec = new ProductCodec();
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final boolean syncWrites;
+    private final FileChannel logChannel;
+    private final MappedByteBuffer log;
+
+    ProductJournal(Path directory, int logCapacity, boolean syncWrites) {
+        this.snapshotPath = directory.resolve("products.snapshot");
+        this.logPath = directory.resolve("products.log");
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+            this.logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, logCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open product journal in " + directory, e);
+        }
+    }
+
+    // Replays the snapshot and then the log, leaving the log positioned after its last
+    // intact record so new writes append to it.
+    void recover(Consumer<Product> put, Consumer<String> delete) {
+        if (Files.exists(snapshotPath)) {
+            try (var channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+                var snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                replay(snapshot, put, delete);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read product snapshot " + snapshotPath, e);
+            }
+        }
+        log.position(0);
+        replay(log, put, delete);
+    }
+
+    boolean isEmpty() {
+        return log.position() == 0;
+    }
+
+    // Returns false without writing anything when the log is full and needs a snapshot first.
+    boolean appendPut(Product product) {
+        return append(PUT, encode(product));
+    }
+
+    boolean appendDelete(String id) {
+        return append(DELETE, id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Written next to the old snapshot and moved over it, so a crash leaves either the old
+    // or the new one. Replaying a log that is already part of the snapshot is harmless.
+    void snapshot(Collection<Product> products) {
+        var records = new ArrayList<byte[]>(products.size());
+        long size = 0;
+        for (var product : products) {
+            var payload = encode(product);
+            records.add(payload);
+            size += HEADER_SIZE + 1 + payload.length;
+        }
+        var tempPath = snapshotPath.resolveSibling("products.snapshot.tmp");
+        try (var channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var snapshot = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            records.forEach(payload -> writeRecord(snapshot, PUT, payload));
+            snapshot.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write product snapshot " + tempPath, e);
+        }
+        try {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replace product snapshot " + snapshotPath, e);
+        }
+        log.position(0);
+        log.putInt(0, 0);
+        log.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.force();
+        logChannel.close();
+    }
+
+    private boolean append(byte op, byte[] payload) {
+        if (log.remaining() < HEADER_SIZE + 1 + payload.length + Integer.BYTES) {
+            return false;
+        }
+        writeRecord(log, op, payload);
+        log.putInt(log.position(), 0);
+        if (syncWrites) {
+            log.force();
+        }
+        return true;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, byte op, byte[] payload) {
+        var crc = new CRC32();
+        crc.update(op);
+        crc.update(payload);
+        buffer.putInt(payload.length + 1);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(op);
+        buffer.put(payload);
+    }
+
+    private void replay(ByteBuffer buffer, Consumer<Product> put, Consumer<String> delete) {
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                return;
+            }
+            var record = new byte[length];
+            buffer.get(record);
+            var crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != checksum) {
+                // Torn write at the end of the log, everything before it is intact.
+                buffer.position(start);
+                return;
+            }
+            if (record[0] == PUT) {
+                put.accept(decode(ByteBuffer.wrap(record, 1, length - 1)));
+            } else if (record[0] == DELETE) {
+                delete.accept(new String(record, 1, length - 1, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private byte[] encode(Product product) {
+        var buffer = new BasicOutputBuffer(256);
+        codec.encode(new BsonBinaryWriter(buffer), product, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private Product decode(ByteBuffer buffer) {
+        return codec.decode(new BsonBinaryReader(buffer.slice()), DecoderContext.builder().build());
+    }
+}
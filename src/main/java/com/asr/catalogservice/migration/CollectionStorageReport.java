@@ -0,0 +1,25 @@
+package com.asr.catalogservice.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+// Sizes reported by collStats, in bytes apart from the document count.
+public record CollectionStorageReport(
+        String collection,
+        long count,
+        long size,
+        long avgObjSize,
+        long storageSize,
+        long totalIndexSize
+) {
+    public static CollectionStorageReport of(MongoTemplate template, String collection) {
+        var stats = template.getDb().runCommand(new Document("collStats", collection));
+        return new CollectionStorageReport(collection, number(stats, "count"), number(stats, "size"),
+                number(stats, "avgObjSize"), number(stats, "storageSize"), number(stats, "totalIndexSize"));
+    }
+
+    // collStats returns int32, int64 or double depending on the magnitude.
+    private static long number(Document stats, String field) {
+        return stats.get(field) instanceof Number number ? number.longValue() : 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.asr.catalogservice.migration;
+
+import com.asr.catalogservice.domain.ProductLayout;
+
+public record MigrationReport(
+        String migrationId,
+        ProductLayout targetLayout,
+        long copied,
+        long caughtUp,
+        CollectionStorageReport before,
+        CollectionStorageReport after,
+        boolean cutOver
+) {
+    public double sizeReduction() {
+        return before.size() == 0 ? 0 : 1 - (double) after.size() / before.size();
+    }
+}
@@ -0,0 +1,245 @@
+package com.asr.catalogservice.migration;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductConverters;
+import com.asr.catalogservice.domain.ProductIndexes;
+import com.asr.catalogservice.domain.ProductLayout;
+import com.asr.catalogservice.domain.ProductTombstone;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoNamespace;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Rewrites the product collection into another layout without taking it offline. Documents are
+// copied in _id order into a shadow collection, with the last copied _id checkpointed in
+// schema_migrations so a restarted migration resumes where it stopped. Writes that land during
+// the copy are caught up afterwards from the source layout's indexed lastModifiedDate and the
+// tombstones, so pods writing during the copy must still use the source layout. Readers accept
+// either layout, but queries only match the configured one, so the shadow collection takes the
+// original's name only on cutover. Cutover is an offline step: it runs from a deployment that
+// already has the target layout configured, while no pod with the old layout is writing, and the
+// original is kept as a backup collection rather than dropped.
+//
+// Only one pod works on a migration at a time: the checkpoint carries an owner and a lease that
+// is renewed after every batch, other pods skip the migration while it is held and resume from
+// the checkpoint once it has expired. A finished cutover is recorded on the checkpoint, running
+// the migration again afterwards does nothing.
+public class ProductLayoutMigration {
+    private static final Logger log = LoggerFactory.getLogger(ProductLayoutMigration.class);
+    static final String CHECKPOINTS = "schema_migrations";
+    // Audit dates come from the application clocks, not from the server.
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final MongoTemplate tombstoneTemplate;
+    private final ProductLayout sourceLayout;
+    private final ProductLayout targetLayout;
+    private final String targetCollection;
+    private final int batchSize;
+    private final Duration lease;
+    private final String owner = UUID.randomUUID().toString();
+
+    public ProductLayoutMigration(MongoTemplate tombstoneTemplate, ProductLayout sourceLayout,
+                                  ProductLayout targetLayout, String targetCollection, int batchSize, Duration lease) {
+        if (sourceLayout == targetLayout) {
+            throw new IllegalArgumentException("Source and target layout are both " + targetLayout);
+        }
+        this.tombstoneTemplate = tombstoneTemplate;
+        this.sourceLayout = sourceLayout;
+        this.targetLayout = targetLayout;
+        this.targetCollection = targetCollection;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    // Empty when another pod holds the migration or its cutover has already finished.
+    public Optional<MigrationReport> migrate(MongoTemplate template, String migrationId, boolean cutover) {
+        var checkpoints = template.getCollection(CHECKPOINTS);
+        var checkpoint = acquire(checkpoints, migrationId);
+        if (checkpoint == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(migrate(template, checkpoints, checkpoint, migrationId, cutover));
+        } finally {
+            checkpoints.updateOne(Filters.and(Filters.eq("_id", migrationId), Filters.eq("owner", owner)),
+                    Updates.combine(Updates.unset("owner"), Updates.unset("leaseUntil")));
+        }
+    }
+
+    private MigrationReport migrate(MongoTemplate template, MongoCollection<Document> checkpoints,
+                                    Document checkpoint, String migrationId, boolean cutover) {
+        var sourceName = template.getCollectionName(Product.class);
+        var source = template.getCollection(sourceName);
+        var target = template.getCollection(targetCollection);
+        var before = CollectionStorageReport.of(template, sourceName);
+
+        var startedAt = checkpoint.getDate("startedAt").toInstant();
+        // The catch-up reads through the source layout's (lastModifiedDate, _id) index.
+        ProductIndexes.ensure(template, sourceName, sourceLayout);
+        long copied = copy(source, target, checkpoints, migrationId, checkpoint);
+        ProductIndexes.ensure(template, targetCollection, targetLayout);
+        long caughtUp = catchUp(source, target, checkpoints, migrationId, startedAt.minus(CLOCK_SKEW));
+
+        if (cutover) {
+            var backupName = backupCollection(sourceName, targetLayout);
+            if (template.collectionExists(backupName)) {
+                throw new IllegalStateException("Backup collection '" + backupName
+                        + "' already exists, drop or rename it before cutting over");
+            }
+            caughtUp += catchUp(source, target, checkpoints, migrationId, startedAt.minus(CLOCK_SKEW));
+            renewLease(checkpoints, migrationId);
+            var database = template.getDb().getName();
+            // Neither rename drops anything, a collection in the way fails the cutover instead.
+            source.renameCollection(new MongoNamespace(database, backupName));
+            target.renameCollection(new MongoNamespace(database, sourceName));
+            checkpoints.updateOne(Filters.eq("_id", migrationId), Updates.set("cutOverAt", new Date()));
+            log.info("Product layout migration '{}' cut over, the original collection is kept as '{}'",
+                    migrationId, backupName);
+        }
+        var after = CollectionStorageReport.of(template, cutover ? sourceName : targetCollection);
+        var report = new MigrationReport(migrationId, targetLayout, copied, caughtUp, before, after, cutover);
+        log.info("Product layout migration '{}' copied {} and caught up {} documents, size {} -> {} bytes "
+                        + "({}% smaller), average document {} -> {} bytes", migrationId, copied, caughtUp,
+                before.size(), after.size(), Math.round(report.sizeReduction() * 100),
+                before.avgObjSize(), after.avgObjSize());
+        return report;
+    }
+
+    static String backupCollection(String sourceName, ProductLayout targetLayout) {
+        return sourceName + "_before_" + targetLayout.name().toLowerCase();
+    }
+
+    // Takes the lease on the checkpoint, creating it for a new migration. Null when another pod
+    // holds the lease or the migration has already been cut over.
+    private Document acquire(MongoCollection<Document> checkpoints, String migrationId) {
+        var now = new Date();
+        try {
+            checkpoints.insertOne(new Document("_id", migrationId)
+                    .append("startedAt", now)
+                    .append("copied", 0L)
+                    .append("owner", owner)
+                    .append("leaseUntil", Date.from(now.toInstant().plus(lease))));
+            return checkpoints.find(Filters.eq("_id", migrationId)).first();
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+        }
+        var checkpoint = checkpoints.findOneAndUpdate(
+                Filters.and(Filters.eq("_id", migrationId), Filters.exists("cutOverAt", false),
+                        Filters.or(Filters.exists("leaseUntil", false), Filters.lte("leaseUntil", now))),
+                Updates.combine(Updates.set("owner", owner),
+                        Updates.set("leaseUntil", Date.from(now.toInstant().plus(lease)))),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER));
+        if (checkpoint == null) {
+            log.info("Skipping product layout migration '{}', it is cut over or running on another pod",
+                    migrationId);
+            return null;
+        }
+        log.info("Resuming product layout migration '{}' after {} copied documents",
+                migrationId, checkpoint.get("copied"));
+        return checkpoint;
+    }
+
+    // Fails the migration once another pod has taken over an expired lease, the checkpoint is
+    // theirs from then on.
+    private void renewLease(MongoCollection<Document> checkpoints, String migrationId) {
+        var renewed = checkpoints.updateOne(Filters.and(Filters.eq("_id", migrationId), Filters.eq("owner", owner)),
+                Updates.set("leaseUntil", Date.from(Instant.now().plus(lease))));
+        if (renewed.getMatchedCount() == 0) {
+            throw new IllegalStateException("Product layout migration '" + migrationId
+                    + "' lost its lease to another pod");
+        }
+    }
+
+    private long copy(MongoCollection<Document> source, MongoCollection<Document> target,
+                      MongoCollection<Document> checkpoints, String migrationId, Document checkpoint) {
+        var lastId = checkpoint.get("lastId");
+        long copied = 0;
+        while (true) {
+            Bson filter = lastId == null ? Filters.empty() : Filters.gt("_id", lastId);
+            List<Document> batch = source.find(filter).sort(Sorts.ascending("_id")).limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                return copied;
+            }
+            renewLease(checkpoints, migrationId);
+            upsert(target, batch);
+            lastId = batch.get(batch.size() - 1).get("_id");
+            copied += batch.size();
+            checkpoints.updateOne(Filters.eq("_id", migrationId),
+                    Updates.combine(Updates.set("lastId", lastId), Updates.inc("copied", (long) batch.size())));
+            // Stopped between batches on shutdown, the next owner resumes from the checkpoint.
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Product layout migration '" + migrationId + "' was interrupted");
+            }
+        }
+    }
+
+    // Re-copies everything modified since the migration started and drops what was deleted.
+    // Both are idempotent, so overlapping the copy phase is harmless.
+    private long catchUp(MongoCollection<Document> source, MongoCollection<Document> target,
+                         MongoCollection<Document> checkpoints, String migrationId, Instant since) {
+        var sinceDate = Date.from(since);
+        long caughtUp = 0;
+        var batch = new ArrayList<Document>(batchSize);
+        for (var document : source.find(Filters.gte(sourceLayout.lastModifiedDateField(), sinceDate))) {
+            batch.add(document);
+            if (batch.size() == batchSize) {
+                renewLease(checkpoints, migrationId);
+                caughtUp += upsert(target, batch);
+                batch.clear();
+            }
+        }
+        caughtUp += upsert(target, batch);
+
+        var deletedIds = tombstoneTemplate.find(query(where("deletedDate").gte(since)), ProductTombstone.class)
+                .stream().map(ProductTombstone::id).toList();
+        // Tombstones hold the id as a string, stored product ids are usually ObjectIds.
+        List<Object> ids = new ArrayList<>(deletedIds);
+        deletedIds.stream().filter(ObjectId::isValid).map(ObjectId::new)
+                .forEach(ids::add);
+        if (!ids.isEmpty()) {
+            caughtUp += target.deleteMany(Filters.in("_id", ids)).getDeletedCount();
+        }
+        return caughtUp;
+    }
+
+    private int upsert(MongoCollection<Document> target, List<Document> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        var upsert = new ReplaceOptions().upsert(true);
+        var writes = batch.stream()
+                .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")),
+                        ProductConverters.toDocument(ProductConverters.fromDocument(document), targetLayout), upsert))
+                .toList();
+        target.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        return batch.size();
+    }
+}
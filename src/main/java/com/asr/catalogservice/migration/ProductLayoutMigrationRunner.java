@@ -0,0 +1,64 @@
+package com.asr.catalogservice.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Migrates the product partitions one after another. The copy runs on a background thread, so
+// the pod becomes ready and serves from the original collection meanwhile. Cutover runs before
+// readiness instead: this deployment already queries with the target layout, which only matches
+// once the copy has been swapped in, and after a finished copy it only has to catch up.
+public class ProductLayoutMigrationRunner implements ApplicationRunner, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ProductLayoutMigrationRunner.class);
+
+    private final ProductLayoutMigration migration;
+    private final List<MongoTemplate> partitions;
+    private final String migrationIdPrefix;
+    private final boolean cutover;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "product-layout-migration");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ProductLayoutMigrationRunner(ProductLayoutMigration migration, List<MongoTemplate> partitions,
+                                        String migrationIdPrefix, boolean cutover) {
+        this.migration = migration;
+        this.partitions = List.copyOf(partitions);
+        this.migrationIdPrefix = migrationIdPrefix;
+        this.cutover = cutover;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (cutover) {
+            migrateAll();
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                migrateAll();
+            } catch (RuntimeException e) {
+                log.error("Product layout migration stopped, it resumes from its checkpoint on the next start", e);
+            }
+        });
+    }
+
+    private void migrateAll() {
+        for (int i = 0; i < partitions.size(); i++) {
+            migration.migrate(partitions.get(i), migrationIdPrefix + i, cutover);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
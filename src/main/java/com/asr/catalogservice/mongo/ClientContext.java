@@ -0,0 +1,22 @@
+package com.asr.catalogservice.mongo;
+
+// The client a request is served for, bound by ClientContextFilter so read-your-writes can be
+// tracked per client.
+public final class ClientContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ClientContext() {
+    }
+
+    public static void bind(String clientId) {
+        CURRENT.set(clientId);
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,85 @@
+package com.asr.catalogservice.mongo;
+
+import com.asr.catalogservice.domain.Deadline;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.DistinctIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.EstimatedDocumentCountOptions;
+import org.bson.Document;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+// Applies the request deadline to reads on a collection: an expired deadline fails before the
+// query is sent, otherwise the remaining time goes out as maxTimeMS and the server aborts the
+// query when it runs out. Writes are left alone, once a request has started writing it is
+// better to finish than to leave the follow-up writes (outbox, stats) half done.
+final class DeadlineCollection implements InvocationHandler {
+    private final MongoCollection<Document> delegate;
+
+    private DeadlineCollection(MongoCollection<Document> delegate) {
+        this.delegate = delegate;
+    }
+
+    @SuppressWarnings("unchecked")
+    static MongoCollection<Document> wrap(MongoCollection<Document> collection) {
+        return (MongoCollection<Document>) Proxy.newProxyInstance(MongoCollection.class.getClassLoader(),
+                new Class<?>[]{MongoCollection.class}, new DeadlineCollection(collection));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        var deadline = Deadline.current();
+        if (deadline != null && isRead(method)) {
+            deadline.check();
+            long maxTimeMillis = Math.max(1, deadline.remaining().toMillis());
+            if (args != null) {
+                for (var arg : args) {
+                    if (arg instanceof CountOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    } else if (arg instanceof EstimatedDocumentCountOptions options) {
+                        options.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            var result = invokeDelegate(method, args);
+            if (result instanceof FindIterable<?> find) {
+                return find.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            if (result instanceof AggregateIterable<?> aggregate) {
+                return aggregate.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            if (result instanceof DistinctIterable<?> distinct) {
+                return distinct.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+            }
+            return result;
+        }
+        var result = invokeDelegate(method, args);
+        // withReadPreference, withWriteConcern and friends return a new collection to wrap again.
+        if (result instanceof MongoCollection<?> collection && method.getName().startsWith("with")
+                && collection.getDocumentClass() == Document.class) {
+            return wrap((MongoCollection<Document>) collection);
+        }
+        return result;
+    }
+
+    private static boolean isRead(Method method) {
+        var name = method.getName();
+        return name.equals("find") || name.equals("aggregate") || name.equals("distinct")
+                || name.equals("countDocuments") || name.equals("estimatedDocumentCount");
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.asr.catalogservice.mongo;
+
+import com.asr.catalogservice.domain.OperationTier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.data.mongodb.core.MongoAction;
+
+import java.time.Duration;
+
+// Maps the current OperationTier to Mongo settings. READ operations go to the configured
+// (secondary) read preference, except for a client that wrote within the staleness bound:
+// a secondary may not have replicated that write yet, so its reads stay on the primary.
+// Recent writers are remembered per pod, read-your-writes across pods needs sticky routing.
+public class MongoTierPolicy {
+    private final WriteConcern interactiveWriteConcern;
+    private final WriteConcern bulkWriteConcern;
+    private final ReadPreference readPreference;
+    private final Cache<String, Boolean> recentWriters;
+
+    public MongoTierPolicy(WriteConcern interactiveWriteConcern, WriteConcern bulkWriteConcern,
+                           ReadPreference readPreference, Duration readYourWritesWindow) {
+        this.interactiveWriteConcern = interactiveWriteConcern;
+        this.bulkWriteConcern = bulkWriteConcern;
+        this.readPreference = readPreference;
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    public WriteConcern writeConcernFor(MongoAction action) {
+        var client = ClientContext.current();
+        if (client != null && recentWriters != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+        return OperationTier.current() == OperationTier.BULK_WRITE ? bulkWriteConcern : interactiveWriteConcern;
+    }
+
+    // Null keeps the template default (primary).
+    public ReadPreference readPreference() {
+        if (OperationTier.current() != OperationTier.READ) {
+            return null;
+        }
+        var client = ClientContext.current();
+        if (client != null && recentWriters != null && recentWriters.getIfPresent(client) != null) {
+            return ReadPreference.primary();
+        }
+        return readPreference;
+    }
+}
@@ -0,0 +1,50 @@
+package com.asr.catalogservice.mongo;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// MongoTemplate whose write concern and read preference follow MongoTierPolicy per operation
+// instead of the client-wide defaults from the connection string. Reads also carry the request
+// deadline as maxTimeMS, see DeadlineCollection.
+public class TieredMongoTemplate extends MongoTemplate {
+    private final MongoTierPolicy policy;
+    // The policy only hands out a few read preferences, so each collection is prepared once per
+    // read preference instead of on every operation.
+    private final Map<PreparedKey, MongoCollection<Document>> preparedCollections = new ConcurrentHashMap<>();
+
+    public TieredMongoTemplate(MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                               MongoTierPolicy policy) {
+        super(databaseFactory, converter);
+        this.policy = policy;
+        setWriteConcernResolver(policy::writeConcernFor);
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection(MongoCollection<Document> collection) {
+        var readPreference = policy.readPreference();
+        // Collections bound to a transaction's session are proxies that carry the session, those
+        // cannot be shared and are prepared per operation.
+        if (AopUtils.isAopProxy(collection)) {
+            return prepare(collection, readPreference);
+        }
+        return preparedCollections.computeIfAbsent(new PreparedKey(collection.getNamespace(), readPreference),
+                key -> prepare(collection, readPreference));
+    }
+
+    private MongoCollection<Document> prepare(MongoCollection<Document> collection, ReadPreference readPreference) {
+        var prepared = super.prepareCollection(collection);
+        return DeadlineCollection.wrap(readPreference == null ? prepared : prepared.withReadPreference(readPreference));
+    }
+
+    private record PreparedKey(MongoNamespace namespace, ReadPreference readPreference) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.asr.catalogservice.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Stand-in for a message broker, delivers batches to subscribers in this JVM. Useful to run the
+// outbox end to end locally and in tests without external infrastructure.
+public class InProcessBroker implements OutboxSink {
+    private final List<Consumer<List<OutboxEvent>>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<List<OutboxEvent>> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        subscribers.forEach(subscriber -> subscriber.accept(batch));
+    }
+}
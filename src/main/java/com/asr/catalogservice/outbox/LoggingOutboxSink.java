@@ -0,0 +1,15 @@
+package com.asr.catalogservice.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LoggingOutboxSink implements OutboxSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        batch.forEach(event -> log.info("Product {} {} (event {})", event.productId(), event.type(), event.id()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.asr.catalogservice.outbox;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// A product change waiting to be published. The id is an ObjectId, so ordering by it follows
+// insertion order; consumers deduplicate redeliveries by it. product is null for deletions.
+@Document("product_outbox")
+public record OutboxEvent(
+        @Id
+        String id,
+
+        ProductChangedEvent.Type type,
+
+        String productId,
+
+        Product product,
+
+        Instant createdDate
+) {
+
+    static OutboxEvent of(ProductChangedEvent event) {
+        return new OutboxEvent(null, event.type(), event.productId(), event.current(), Instant.now());
+    }
+}
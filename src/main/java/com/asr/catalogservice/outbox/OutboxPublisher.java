@@ -0,0 +1,119 @@
+package com.asr.catalogservice.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// Drains the outbox on the scheduler thread, oldest first, one batch per sink call. Every pod
+// runs a publisher, so a batch is first claimed with a conditional update that stamps the
+// unclaimed (or lease expired) events with a claim id and lease; other pods skip them until
+// the lease runs out. Events are removed only after the sink accepted them, so delivery is at
+// least once: a crash, or a batch outliving its lease, redelivers it. Batches claimed by
+// different pods may reach the sink out of order.
+public class OutboxPublisher {
+    private static final Logger log = LoggerFactory.getLogger(OutboxPublisher.class);
+    // Bookkeeping fields on the outbox documents, they are not part of the published event.
+    private static final String CLAIM = "claim";
+    private static final String LEASE_UNTIL = "leaseUntil";
+
+    private final MongoTemplate mongoTemplate;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration lease;
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+    private final AtomicLong publishingNanos = new AtomicLong();
+
+    public OutboxPublisher(MongoTemplate mongoTemplate, OutboxSink sink, int batchSize, int maxBatchesPerPoll,
+                           Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.lease = lease;
+    }
+
+    // Keeps draining while batches come back full, so a backlog clears without waiting for
+    // the next poll, but gives the scheduler thread back after maxBatchesPerPoll.
+    @Scheduled(fixedDelayString = "${catalog.outbox.poll-interval}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (publishBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    int publishBatch() {
+        var claim = UUID.randomUUID().toString();
+        List<OutboxEvent> batch = claimBatch(claim);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            sink.publish(batch);
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            log.warn("Failed to publish {} outbox events, retrying on the next poll", batch.size(), e);
+            // Released right away, so the next poll of any pod retries without waiting out the lease.
+            mongoTemplate.updateMulti(query(where(CLAIM).is(claim)),
+                    new Update().unset(CLAIM).unset(LEASE_UNTIL), OutboxEvent.class);
+            return 0;
+        }
+        // Only events still carrying our claim, a batch that outlived its lease belongs to another pod now.
+        mongoTemplate.remove(query(where(CLAIM).is(claim)), OutboxEvent.class);
+        long elapsed = System.nanoTime() - start;
+        lastBatchNanos.set(elapsed);
+        publishingNanos.addAndGet(elapsed);
+        publishedBatches.incrementAndGet();
+        publishedEvents.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    // The candidates are read first so the claim covers the oldest events, the update then only
+    // takes those no other pod has claimed in between.
+    private List<OutboxEvent> claimBatch(String claim) {
+        var now = Instant.now();
+        var candidates = new Query(claimable(now)).with(Sort.by("id")).limit(batchSize);
+        candidates.fields().include("id");
+        var ids = mongoTemplate.find(candidates, OutboxEvent.class).stream().map(OutboxEvent::id).toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        mongoTemplate.updateMulti(query(new Criteria().andOperator(where("id").in(ids), claimable(now))),
+                new Update().set(CLAIM, claim).set(LEASE_UNTIL, now.plus(lease)), OutboxEvent.class);
+        return mongoTemplate.find(query(where(CLAIM).is(claim)).with(Sort.by("id")), OutboxEvent.class);
+    }
+
+    private static Criteria claimable(Instant now) {
+        return new Criteria().orOperator(where(LEASE_UNTIL).exists(false), where(LEASE_UNTIL).lte(now));
+    }
+
+    public OutboxStats getStats() {
+        var oldest = mongoTemplate.findOne(new Query().with(Sort.by("id")), OutboxEvent.class);
+        var oldestAge = oldest == null ? Duration.ZERO : Duration.between(oldest.createdDate(), Instant.now());
+        long published = publishedEvents.get();
+        long nanos = publishingNanos.get();
+        return new OutboxStats(published, publishedBatches.get(), failedBatches.get(),
+                mongoTemplate.estimatedCount(OutboxEvent.class), oldestAge, Duration.ofNanos(lastBatchNanos.get()),
+                nanos == 0 ? 0 : published * 1_000_000_000.0 / nanos);
+    }
+}
@@ -0,0 +1,10 @@
+package com.asr.catalogservice.outbox;
+
+import java.util.List;
+
+// Where the outbox publisher delivers events. A batch that throws is delivered again on the next
+// poll, so a sink may see an event more than once but never loses one.
+public interface OutboxSink {
+
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
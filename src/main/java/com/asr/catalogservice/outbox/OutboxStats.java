@@ -0,0 +1,15 @@
+package com.asr.catalogservice.outbox;
+
+import java.time.Duration;
+
+// lastBatchDuration covers sink delivery plus removing the batch from the outbox.
+public record OutboxStats(
+        long publishedEvents,
+        long publishedBatches,
+        long failedBatches,
+        long pendingEvents,
+        Duration oldestPendingAge,
+        Duration lastBatchDuration,
+        double eventsPerSecond
+) {
+}
@@ -0,0 +1,36 @@
+package com.asr.catalogservice.outbox;
+
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Records every product change in the outbox on the writing thread. ProductChangedEvent is
+// published synchronously from ProductService, so with a MongoTransactionManager the insert
+// commits or rolls back together with the product write. Without one the product write has
+// already succeeded, a failed insert then loses the event instead of failing the request.
+public class OutboxWriter {
+    private static final Logger log = LoggerFactory.getLogger(OutboxWriter.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public OutboxWriter(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            mongoTemplate.insert(OutboxEvent.of(event));
+            return;
+        }
+        try {
+            mongoTemplate.insert(OutboxEvent.of(event));
+        } catch (RuntimeException e) {
+            log.error("Failed to record {} event for product '{}' in the outbox, it will not be published",
+                    event.type(), event.productId(), e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.asr.catalogservice.partition;
+
+import com.asr.catalogservice.domain.Product;
+
+// Which product field decides the owning partition. ID spreads load evenly and keeps point
+// reads on one partition, MANUFACTURER keeps a manufacturer's products together at the cost of
+// scattering lookups by id.
+public enum PartitionKey {
+    ID,
+    MANUFACTURER;
+
+    String of(Product product) {
+        return this == ID ? product.id() : product.manufacturer();
+    }
+}
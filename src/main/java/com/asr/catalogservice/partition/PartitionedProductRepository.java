@@ -0,0 +1,219 @@
+package com.asr.catalogservice.partition;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+// ProductRepository over ProductPartitions. Point reads and writes go to the owning partition,
+// everything else is scattered and the partial results concatenated. Product names are only
+// checked for uniqueness by ProductService, there is no cross-partition constraint.
+public class PartitionedProductRepository implements ProductRepository {
+    private final ProductPartitions partitions;
+
+    public PartitionedProductRepository(ProductPartitions partitions) {
+        this.partitions = partitions;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Product> S save(S product) {
+        // Ids are assigned here rather than by the driver because they decide the partition.
+        var toSave = product.id() == null ? withId(product, new ObjectId().toHexString()) : product;
+        var target = partitions.forProduct(toSave);
+        if (partitions.key() == PartitionKey.MANUFACTURER && toSave.version() != 0) {
+            var owner = ownerOf(toSave.id());
+            if (owner != null && owner != target) {
+                return (S) move(toSave, owner, target);
+            }
+        }
+        return (S) target.save(toSave);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends Product> Iterable<S> saveAll(Iterable<S> products) {
+        Map<MongoTemplate, List<Product>> byPartition = new LinkedHashMap<>();
+        List<Product> updates = new ArrayList<>();
+        for (var product : products) {
+            if (product.version() != 0) {
+                updates.add(product);
+                continue;
+            }
+            var toInsert = product.id() == null ? withId(product, new ObjectId().toHexString()) : product;
+            byPartition.computeIfAbsent(partitions.forProduct(toInsert), key -> new ArrayList<>()).add(toInsert);
+        }
+        // New products are bulk inserted, one round trip per partition, all partitions in parallel.
+        var saved = new ArrayList<S>();
+        partitions.scatter(template -> {
+                    var batch = byPartition.get(template);
+                    return batch == null ? List.<Product>of() : List.copyOf(template.insertAll(batch));
+                })
+                .forEach(batch -> batch.forEach(product -> saved.add((S) product)));
+        updates.forEach(product -> saved.add((S) save(product)));
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        if (partitions.key() == PartitionKey.ID) {
+            return Optional.ofNullable(partitions.forKey(id).findById(id, Product.class));
+        }
+        return partitions.scatter(template -> template.findById(id, Product.class)).stream()
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public Iterable<Product> findAll() {
+        return concat(partitions.scatter(template -> template.findAll(Product.class)));
+    }
+
+    @Override
+    public Iterable<Product> findAllById(Iterable<String> ids) {
+        var idList = StreamSupport.stream(ids.spliterator(), false).toList();
+        if (partitions.key() != PartitionKey.ID) {
+            return concat(partitions.scatter(template -> template.find(byIds(idList), Product.class)));
+        }
+        Map<MongoTemplate, List<String>> byPartition = new LinkedHashMap<>();
+        idList.forEach(id -> byPartition.computeIfAbsent(partitions.forKey(id), key -> new ArrayList<>()).add(id));
+        return concat(partitions.scatter(template -> {
+            var partitionIds = byPartition.get(template);
+            return partitionIds == null ? List.<Product>of() : template.find(byIds(partitionIds), Product.class);
+        }));
+    }
+
+    @Override
+    public long count() {
+        return partitions.scatter(template -> template.count(new Query(), Product.class)).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return partitions.scatter(template -> template.exists(query(where("name").is(name)), Product.class))
+                .contains(true);
+    }
+
+    @Override
+    public List<Product> findByNameIn(Collection<String> names) {
+        return concat(partitions.scatter(template ->
+                template.find(query(where("name").in(names)), Product.class)));
+    }
+
+    @Override
+    public List<Product> findByManufacturer(String manufacturer) {
+        var byManufacturer = query(where("manufacturer").is(manufacturer));
+        if (partitions.key() == PartitionKey.MANUFACTURER) {
+            return partitions.forKey(manufacturer).find(byManufacturer, Product.class);
+        }
+        return concat(partitions.scatter(template ->
+                template.find(query(where("manufacturer").is(manufacturer)), Product.class)));
+    }
+
+    @Override
+    public List<Product> findByPriceBetween(Double from, Double to) {
+        return concat(partitions.scatter(template ->
+                template.find(query(where("price").gt(from).lt(to)), Product.class)));
+    }
+
+    @Override
+    public void deleteById(String id) {
+        if (partitions.key() == PartitionKey.ID) {
+            partitions.forKey(id).remove(query(where("id").is(id)), Product.class);
+        } else {
+            partitions.scatter(template -> template.remove(query(where("id").is(id)), Product.class));
+        }
+    }
+
+    @Override
+    public void delete(Product product) {
+        var owner = partitions.key() == PartitionKey.ID ? partitions.forProduct(product) : ownerOf(product.id());
+        if (owner != null && owner.remove(product).getDeletedCount() == 0) {
+            throw new OptimisticLockingFailureException("Product with ID '" + product.id() + "' and version "
+                    + product.version() + " was modified concurrently.");
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Product> products) {
+        products.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        partitions.scatter(template -> template.remove(new Query(), Product.class));
+    }
+
+    private MongoTemplate ownerOf(String id) {
+        var found = partitions.scatter(template -> template.exists(query(where("id").is(id)), Product.class));
+        int index = found.indexOf(true);
+        return index < 0 ? null : partitions.all().get(index);
+    }
+
+    // A product whose manufacturer changed is copied to its new partition, then removed from the
+    // old one guarded by its version. The copy bypasses the mapping lifecycle so createdDate and
+    // the version sequence carry over. Between the two steps a scatter may see both copies.
+    private Product move(Product product, MongoTemplate owner, MongoTemplate target) {
+        var existing = owner.findById(product.id(), Product.class);
+        if (existing == null || existing.version() != product.version()) {
+            throw new OptimisticLockingFailureException("Product with ID '" + product.id() + "' and version "
+                    + product.version() + " was modified or deleted concurrently.");
+        }
+        var moved = new Product(product.id(), product.name(), product.description(), product.manufacturer(),
+                product.price(), product.units(), existing.createdDate(), Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                product.version() + 1);
+        var document = new Document();
+        target.getConverter().write(moved, document);
+        target.getCollection(target.getCollectionName(Product.class)).insertOne(document);
+        var removed = owner.remove(query(where("id").is(product.id()).and("version").is(product.version())),
+                Product.class);
+        if (removed.getDeletedCount() == 0) {
+            target.remove(query(where("id").is(product.id())), Product.class);
+            throw new OptimisticLockingFailureException("Product with ID '" + product.id()
+                    + "' was modified concurrently while moving partitions.");
+        }
+        return moved;
+    }
+
+    private static Query byIds(Collection<String> ids) {
+        return query(where("id").in(ids));
+    }
+
+    private static Product withId(Product product, String id) {
+        return new Product(id, product.name(), product.description(), product.manufacturer(), product.price(),
+                product.units(), product.createdDate(), product.lastModifiedDate(), product.version());
+    }
+
+    private static List<Product> concat(List<List<Product>> results) {
+        return results.stream().flatMap(List::stream).toList();
+    }
+}
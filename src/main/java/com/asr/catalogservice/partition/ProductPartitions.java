@@ -0,0 +1,131 @@
+package com.asr.catalogservice.partition;
+
+import com.asr.catalogservice.domain.Deadline;
+import com.asr.catalogservice.domain.OperationTier;
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.mongo.ClientContext;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOptions;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+// The Mongo databases holding products. A product lives in exactly one partition, chosen by
+// hashing its partition key; queries that cannot be routed run on every partition in parallel.
+// String.hashCode is specified by the JLS, so routing is stable across nodes and restarts, but
+// changing the number of partitions requires moving the data. verifyLayout records the layout
+// in every partition on first start and refuses to route with a different one afterwards.
+public class ProductPartitions implements Closeable {
+    static final String LAYOUT_COLLECTION = "product_partitions";
+    private static final String LAYOUT_ID = "layout";
+
+    private final List<MongoTemplate> templates;
+    private final PartitionKey key;
+    private final ExecutorService scatterExecutor;
+    private final List<MongoClient> clients;
+
+    public ProductPartitions(List<MongoTemplate> templates, PartitionKey key, ExecutorService scatterExecutor,
+                             List<MongoClient> clients) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("At least one product partition is required.");
+        }
+        this.templates = List.copyOf(templates);
+        this.key = key;
+        this.scatterExecutor = scatterExecutor;
+        this.clients = List.copyOf(clients);
+    }
+
+    // The unpartitioned deployment, queries run inline on the calling thread.
+    public static ProductPartitions single(MongoTemplate template) {
+        return new ProductPartitions(List.of(template), PartitionKey.ID, null, List.of());
+    }
+
+    public PartitionKey key() {
+        return key;
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    public List<MongoTemplate> all() {
+        return templates;
+    }
+
+    public MongoTemplate forProduct(Product product) {
+        return forKey(key.of(product));
+    }
+
+    public MongoTemplate forKey(String value) {
+        return templates.get(indexOf(value));
+    }
+
+    int indexOf(String value) {
+        return value == null ? 0 : Math.floorMod(value.hashCode(), templates.size());
+    }
+
+    // Results are in partition order. A failing partition fails the whole query rather than
+    // returning a silently incomplete result.
+    public <T> List<T> scatter(Function<MongoTemplate, T> query) {
+        if (templates.size() == 1) {
+            return List.of(query.apply(templates.get(0)));
+        }
+        // The tier, client and deadline are thread-bound, the scatter threads run with the caller's.
+        var tier = OperationTier.current();
+        var client = ClientContext.current();
+        var deadline = Deadline.current();
+        var futures = templates.stream()
+                .map(template -> CompletableFuture.supplyAsync(() -> tier.call(() -> {
+                    ClientContext.bind(client);
+                    Deadline.bind(deadline);
+                    try {
+                        return query.apply(template);
+                    } finally {
+                        ClientContext.clear();
+                        Deadline.clear();
+                    }
+                }), scatterExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Each partition remembers its index, the partition count and the key; a reordered, grown or
+    // shrunk uri list, or another key, would send most ids to a partition that does not hold them.
+    public void verifyLayout() {
+        for (int i = 0; i < templates.size(); i++) {
+            var expected = new Document("index", i).append("count", templates.size()).append("key", key.name());
+            var layouts = templates.get(i).getCollection(LAYOUT_COLLECTION);
+            layouts.updateOne(Filters.eq("_id", LAYOUT_ID), new Document("$setOnInsert", expected),
+                    new UpdateOptions().upsert(true));
+            var stored = layouts.find(Filters.eq("_id", LAYOUT_ID)).first();
+            stored.remove("_id");
+            if (!stored.equals(expected)) {
+                throw new IllegalStateException("Partition " + i + " (" + templates.get(i).getDb().getName()
+                        + ") was set up as " + stored.toJson() + " but is now configured as " + expected.toJson()
+                        + ", move the data before changing catalog.partitions.");
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdown();
+        }
+        clients.forEach(MongoClient::close);
+    }
+}
@@ -0,0 +1,117 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+// Validates product batches in parallel chunks. The shared Validator caches the Product
+// constraint metadata, so every worker only pays for the checks themselves.
+@Component
+public class BulkProductValidator {
+    private static final int CHUNK_SIZE = 128;
+    // A JSON null in the batch array, reported like any other invalid item.
+    private static final Map<String, String> NULL_ITEM = Map.of("product", "Product must not be null.");
+
+    private final Validator validator;
+    private final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+
+    public BulkProductValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    public record ItemErrors(int index, Map<String, String> fields) {
+    }
+
+    // First pass only remembers which items are invalid, messages are produced again while
+    // the report is written so they never have to be held for the whole batch.
+    public BitSet findInvalid(List<Product> products) {
+        var futures = new ArrayList<CompletableFuture<BitSet>>();
+        for (int from = 0; from < products.size(); from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(products.size(), from + CHUNK_SIZE);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                var invalid = new BitSet();
+                for (int i = start; i < end; i++) {
+                    var product = products.get(i);
+                    if (product == null || !validator.validate(product).isEmpty()) {
+                        invalid.set(i);
+                    }
+                }
+                return invalid;
+            }, ForkJoinPool.commonPool()));
+        }
+        var invalid = new BitSet(products.size());
+        futures.forEach(future -> invalid.or(future.join()));
+        return invalid;
+    }
+
+    // Writes {"invalidItems": n, "errors": [{"index": i, "fields": {...}}, ...]} in item order,
+    // keeping at most a few chunks of errors in flight.
+    public void writeReport(List<Product> products, BitSet invalid, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("invalidItems", invalid.cardinality());
+        generator.writeArrayFieldStart("errors");
+        var pending = new ArrayDeque<CompletableFuture<List<ItemErrors>>>();
+        int next = invalid.nextSetBit(0);
+        while (next >= 0 || !pending.isEmpty()) {
+            while (next >= 0 && pending.size() < parallelism) {
+                var indexes = new int[CHUNK_SIZE];
+                int count = 0;
+                for (; next >= 0 && count < CHUNK_SIZE; next = invalid.nextSetBit(next + 1)) {
+                    indexes[count++] = next;
+                }
+                int size = count;
+                pending.add(CompletableFuture.supplyAsync(() -> validateAll(products, indexes, size),
+                        ForkJoinPool.commonPool()));
+            }
+            for (var item : pending.poll().join()) {
+                generator.writeStartObject();
+                generator.writeNumberField("index", item.index());
+                generator.writeObjectFieldStart("fields");
+                for (var field : item.fields().entrySet()) {
+                    generator.writeStringField(field.getKey(), field.getValue());
+                }
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.flush();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    private List<ItemErrors> validateAll(List<Product> products, int[] indexes, int size) {
+        var errors = new ArrayList<ItemErrors>(size);
+        for (int i = 0; i < size; i++) {
+            var product = products.get(indexes[i]);
+            errors.add(new ItemErrors(indexes[i], product == null ? NULL_ITEM : fieldErrors(validator.validate(product))));
+        }
+        return errors;
+    }
+
+    private static Map<String, String> fieldErrors(Set<ConstraintViolation<Product>> violations) {
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .collect(Collectors.toMap(
+                        violation -> violation.getPropertyPath().toString(),
+                        ConstraintViolation::getMessage,
+                        (first, second) -> first + " " + second,
+                        LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,33 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.mongo.ClientContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Identifies the client by X-Client-Id for read-your-writes. Requests without it are not tracked:
+// behind a load balancer or NAT the remote address is shared by many clients, whose writes would
+// then pin each other's reads to the primary.
+public class ClientContextFilter extends OncePerRequestFilter {
+    public static final String CLIENT_ID = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var clientId = request.getHeader(CLIENT_ID);
+        if (clientId == null || clientId.isBlank()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ClientContext.bind(clientId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ClientContext.clear();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Deadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+// Gives every product API request a latency budget, bound as the thread's Deadline for the
+// rest of the request. The first matching endpoint budget wins, a zero budget means none (the
+// SSE stream). Clients can ask for another budget in milliseconds with X-Request-Timeout,
+// capped at maxBudget.
+public class DeadlineFilter extends OncePerRequestFilter {
+    public static final String REQUEST_TIMEOUT = "X-Request-Timeout";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+    private final List<EndpointBudget> endpoints;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public DeadlineFilter(Duration defaultBudget, Duration maxBudget, List<EndpointBudget> endpoints) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.endpoints = List.copyOf(endpoints);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var budget = budgetFor(request);
+        if (budget.isZero()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Deadline.bind(Deadline.after(budget));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Deadline.clear();
+        }
+    }
+
+    Duration budgetFor(HttpServletRequest request) {
+        var path = request.getRequestURI().substring(request.getContextPath().length());
+        var budget = endpoints.stream()
+                .filter(endpoint -> endpoint.method() == null || endpoint.method().equalsIgnoreCase(request.getMethod()))
+                .filter(endpoint -> pathMatcher.match(endpoint.path(), path))
+                .map(EndpointBudget::budget)
+                .findFirst()
+                .orElse(defaultBudget);
+        if (budget.isZero()) {
+            return budget;
+        }
+        var requested = request.getHeader(REQUEST_TIMEOUT);
+        if (requested != null) {
+            try {
+                var millis = Long.parseLong(requested.trim());
+                if (millis > 0) {
+                    budget = Duration.ofMillis(millis);
+                }
+            } catch (NumberFormatException e) {
+                // A malformed header keeps the endpoint budget.
+            }
+        }
+        return budget.compareTo(maxBudget) > 0 ? maxBudget : budget;
+    }
+
+    // method is null for any method, path is an Ant pattern such as /products/*.
+    public record EndpointBudget(String method, String path, Duration budget) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.diagnostics.HotProduct;
+import com.asr.catalogservice.diagnostics.HotProductTracker;
+import com.asr.catalogservice.diagnostics.SlowQueryLog;
+import com.asr.catalogservice.diagnostics.SlowQueryReport;
+import com.asr.catalogservice.domain.ConflictRetryPolicy;
+import com.asr.catalogservice.domain.ConflictRetryStats;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/diagnostics")
+public class DiagnosticsController {
+    private final SlowQueryLog slowQueryLog;
+    private final HotProductTracker hotProductTracker;
+    private final ConflictRetryPolicy conflictRetryPolicy;
+
+    public DiagnosticsController(SlowQueryLog slowQueryLog, HotProductTracker hotProductTracker,
+                                 ConflictRetryPolicy conflictRetryPolicy) {
+        this.slowQueryLog = slowQueryLog;
+        this.hotProductTracker = hotProductTracker;
+        this.conflictRetryPolicy = conflictRetryPolicy;
+    }
+
+    @GetMapping("slow-queries")
+    public List<SlowQueryReport> getSlowQueries() {
+        return slowQueryLog.report();
+    }
+
+    @DeleteMapping("slow-queries")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+
+    @GetMapping("hot-products")
+    public List<HotProduct> getHotProducts(@RequestParam(defaultValue = "20") int limit) {
+        return hotProductTracker.topK(limit);
+    }
+
+    @GetMapping("update-conflicts")
+    public ConflictRetryStats getUpdateConflicts() {
+        return conflictRetryPolicy.getStats();
+    }
+}
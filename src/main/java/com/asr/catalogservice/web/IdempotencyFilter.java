@@ -0,0 +1,272 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Deadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+// Makes POST /products and PUT /products/{id} safe to retry: the first response for an
+// Idempotency-Key is stored and replayed for later requests with that key, without calling
+// ProductService again. A duplicate arriving while the original is still running on this pod
+// waits for its result, at most until its own deadline. Server errors, 409 (a lost update race
+// or a name taken concurrently) and 429 are not stored, so those requests can be retried for
+// real. Bodies are buffered for the fingerprint, larger ones than maxBodySize are rejected with
+// 413.
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final Pattern PRODUCT_PATH = Pattern.compile("/products/[^/]+");
+
+    private final IdempotencyStore store;
+    private final Duration waitTimeout;
+    private final int maxBodySize;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyStore store, Duration waitTimeout, int maxBodySize) {
+        this.store = store;
+        this.waitTimeout = waitTimeout;
+        this.maxBodySize = maxBodySize;
+    }
+
+    // POST /products/batch streams its response asynchronously, it is not covered.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        var path = path(request);
+        return switch (request.getMethod()) {
+            case "POST" -> !"/products".equals(path);
+            case "PUT" -> !PRODUCT_PATH.matcher(path).matches();
+            default -> true;
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Scoped to the endpoint so a client reusing a key for another product is not replayed.
+        var key = request.getMethod() + " " + path(request) + " " + request.getHeader(IDEMPOTENCY_KEY);
+        if (request.getContentLengthLong() > maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, tooLarge());
+            return;
+        }
+        // Chunked bodies have no declared length, one byte past the limit is enough to tell.
+        var body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, tooLarge());
+            return;
+        }
+        var fingerprint = fingerprint(body);
+        while (true) {
+            var stored = store.find(key);
+            if (stored != null) {
+                replay(stored, fingerprint, response);
+                return;
+            }
+            var ours = new CompletableFuture<IdempotentResponse>();
+            var running = inFlight.putIfAbsent(key, ours);
+            if (running == null) {
+                try {
+                    execute(key, fingerprint, new BodyRequestWrapper(request, body), response, filterChain, ours);
+                } finally {
+                    inFlight.remove(key, ours);
+                }
+                return;
+            }
+            IdempotentResponse result;
+            try {
+                result = running.get(waitBudget().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress.");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress.");
+                return;
+            } catch (ExecutionException e) {
+                result = null;
+            }
+            if (result != null) {
+                replay(result, fingerprint, response);
+                return;
+            }
+            // The original ended without a storable response, take over as the new original.
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain, CompletableFuture<IdempotentResponse> ours)
+            throws ServletException, IOException {
+        IdempotentResponse result = null;
+        try {
+            // The original may have completed between our lookup and registering as in flight.
+            var stored = store.find(key);
+            if (stored != null) {
+                result = stored;
+                replay(stored, fingerprint, response);
+                return;
+            }
+            var responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, responseWrapper);
+            if (isStorable(responseWrapper.getStatus())) {
+                result = new IdempotentResponse(key, fingerprint, responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getHeader(HttpHeaders.LOCATION),
+                        responseWrapper.getContentAsByteArray(), Instant.now());
+                store.put(result);
+            }
+            responseWrapper.copyBodyToResponse();
+        } finally {
+            ours.complete(result);
+        }
+    }
+
+    private static boolean isStorable(int status) {
+        return status < HttpStatus.INTERNAL_SERVER_ERROR.value()
+                && status != HttpStatus.CONFLICT.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    // The duplicate's own deadline caps the wait, the client has given up on it after that anyway.
+    private Duration waitBudget() {
+        var deadline = Deadline.current();
+        if (deadline == null) {
+            return waitTimeout;
+        }
+        var remaining = deadline.remaining();
+        return remaining.compareTo(waitTimeout) < 0 ? remaining : waitTimeout;
+    }
+
+    private String tooLarge() {
+        return "Request body with an Idempotency-Key must not be larger than " + maxBodySize + " bytes.";
+    }
+
+    private static void replay(IdempotentResponse stored, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request body.");
+            return;
+        }
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // The body was consumed for the fingerprint, the controller reads it again from memory.
+    private static class BodyRequestWrapper extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        BodyRequestWrapper(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is available right away.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            var encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
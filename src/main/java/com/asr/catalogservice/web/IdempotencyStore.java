@@ -0,0 +1,62 @@
+package com.asr.catalogservice.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Bounded, TTL-evicted memory of idempotent responses. With a MongoTemplate the responses are
+// also written through to a TTL collection, so a retry that lands on another pod (or after a
+// restart) is still replayed.
+public class IdempotencyStore {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final Cache<String, IdempotentResponse> cache;
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+
+    public IdempotencyStore(long maxEntries, Duration ttl, MongoTemplate mongoTemplate) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+        if (mongoTemplate != null) {
+            mongoTemplate.indexOps(IdempotentResponse.class)
+                    .ensureIndex(new Index("createdDate", Sort.Direction.ASC).expire(ttl));
+        }
+    }
+
+    public IdempotentResponse find(String key) {
+        var response = cache.getIfPresent(key);
+        if (response == null && mongoTemplate != null) {
+            response = mongoTemplate.findById(key, IdempotentResponse.class);
+            // The TTL monitor only runs once a minute, expired entries can still be around.
+            if (response != null && response.createdDate().plus(ttl).isAfter(Instant.now())) {
+                cache.put(key, response);
+            } else {
+                response = null;
+            }
+        }
+        return response;
+    }
+
+    public void put(IdempotentResponse response) {
+        cache.put(response.key(), response);
+        if (mongoTemplate != null) {
+            try {
+                mongoTemplate.save(response);
+            } catch (RuntimeException e) {
+                // The write itself succeeded, only retries on other pods lose the replay.
+                log.warn("Failed to persist idempotent response for key '{}'", response.key(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.asr.catalogservice.web;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// The first response to an idempotent request, replayed for retries with the same key.
+@Document("idempotency_keys")
+public record IdempotentResponse(
+        @Id
+        String key,
+
+        // SHA-256 of the request body, a retry must send the same body.
+        String fingerprint,
+
+        int status,
+
+        String contentType,
+
+        String location,
+
+        byte[] body,
+
+        Instant createdDate
+) {
+}
@@ -0,0 +1,23 @@
+package com.asr.catalogservice.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+public class LoggingSpanExporter implements SpanExporter {
+    private static final Logger log = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(String requestName, long durationNanos, List<TimingSpan> spans) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        var builder = new StringBuilder(requestName).append(" took ").append(durationNanos / 1000).append("us");
+        for (var span : spans) {
+            builder.append("\n  +").append(span.startOffsetNanos() / 1000).append("us ")
+                    .append(span.name()).append(' ').append(span.durationNanos() / 1000).append("us");
+        }
+        log.debug(builder.toString());
+    }
+}
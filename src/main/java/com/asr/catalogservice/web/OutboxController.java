@@ -0,0 +1,26 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.outbox.OutboxPublisher;
+import com.asr.catalogservice.outbox.OutboxStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "catalog.outbox", name = "enabled", matchIfMissing = true)
+@RequestMapping("/diagnostics/outbox")
+public class OutboxController {
+    private final OutboxPublisher publisher;
+
+    public OutboxController(OutboxPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @GetMapping
+    public OutboxStats getOutboxStats() {
+        return publisher.getStats();
+    }
+}
@@ -0,0 +1,57 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/products/batch")
+public class ProductBatchController {
+    private final ProductService service;
+    private final BulkProductValidator validator;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+
+    public ProductBatchController(ProductService service, BulkProductValidator validator, ObjectMapper objectMapper,
+                                  @Value("${catalog.batch.max-size}") int maxBatchSize) {
+        this.service = service;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    // Invalid batches are rejected as a whole with an error report indexed by item position.
+    @PostMapping
+    public ResponseEntity<StreamingResponseBody> addProducts(@RequestBody List<Product> products) {
+        if (products.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Batch must not contain more than " + maxBatchSize + " products.");
+        }
+        var invalid = validator.findInvalid(products);
+        if (!invalid.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> {
+                        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+                            validator.writeReport(products, invalid, generator);
+                        }
+                    });
+        }
+        var savedProducts = service.saveProducts(products);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, savedProducts));
+    }
+}
@@ -0,0 +1,42 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.ChangeToken;
+import com.asr.catalogservice.domain.ProductChangeService;
+import com.asr.catalogservice.domain.ProductChanges;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/products/changes")
+public class ProductChangesController {
+    private final ProductChangeService service;
+    private final int maxPageSize;
+
+    public ProductChangesController(ProductChangeService service,
+                                    @Value("${catalog.changes.max-page-size}") int maxPageSize) {
+        this.service = service;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // Without "since" the feed starts at the beginning, i.e. a full initial sync.
+    @GetMapping
+    public ProductChanges getChanges(@RequestParam(required = false) String since,
+                                     @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Limit must be between 1 and " + maxPageSize + ".");
+        }
+        try {
+            return service.findChanges(since == null ? null : ChangeToken.parse(since), limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.asr.catalogservice.web;
 
+import com.asr.catalogservice.diagnostics.HotProductTracker;
 import com.asr.catalogservice.domain.Product;
 import com.asr.catalogservice.domain.ProductService;
 import jakarta.validation.Valid;
@@ -11,26 +12,38 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/products")
 public class ProductController {
+    static final String EXPAND_DESCRIPTION = "description";
+
     private final ProductService service;
+    private final HotProductTracker hotProductTracker;
 
-    public ProductController(ProductService service) {
+    public ProductController(ProductService service, HotProductTracker hotProductTracker) {
         this.service = service;
+        this.hotProductTracker = hotProductTracker;
     }
 
+    // Large descriptions are only included with expand=description, listings rarely show them.
     @GetMapping
-    public Iterable<Product> getProducts() {
-        return service.findAllProducts();
+    public Iterable<Product> getProducts(@RequestParam(defaultValue = "") Set<String> expand) {
+        var products = service.findAllProducts();
+        return expand.contains(EXPAND_DESCRIPTION) ? service.loadDescriptions(products) : products;
     }
 
+    // Only found products are tracked, lookups of unknown ids must not crowd out real hot keys.
     @GetMapping("{id}")
     public Product getProduct(@PathVariable String id) {
-        return service.findProductById(id);
+        var product = service.findProductById(id);
+        hotProductTracker.record(id);
+        return product;
     }
 
     @PostMapping
@@ -1,7 +1,10 @@
 package com.asr.catalogservice.web;
 
+import com.asr.catalogservice.domain.DeadlineExceededException;
 import com.asr.catalogservice.domain.ProductAlreadyExistsException;
 import com.asr.catalogservice.domain.ProductNotFoundException;
+import com.asr.catalogservice.domain.ProductUpdateConflictException;
+import com.mongodb.MongoExecutionTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +30,22 @@ public class ProductControllerAdvice {
         return exception.getMessage();
     }
 
+    @ExceptionHandler(ProductUpdateConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String productUpdateConflictHandler(ProductUpdateConflictException exception) {
+        return exception.getMessage();
+    }
+
+    // A query cut off by maxTimeMS arrives wrapped in a DataAccessException, handlers also
+    // match on the cause.
+    @ExceptionHandler({DeadlineExceededException.class, MongoExecutionTimeoutException.class})
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    String deadlineExceededHandler(RuntimeException exception) {
+        return exception instanceof DeadlineExceededException
+                ? exception.getMessage()
+                : "Request did not complete within its budget.";
+    }
+
     // Collect meaningful error message about which Product fields were invalid
     // instead of returning an empty message.
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,97 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans ProductChangedEvents out to /products/stream subscribers. Publishing only enqueues, the
+// writing thread never blocks on a slow client, and idle connections hold no thread at all
+// (they are parked in servlet async mode).
+public class ProductEventBroadcaster {
+    private final ExecutorService dispatchExecutor;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final int drainBatchSize;
+    private final ProductStreamSubscriber.OverflowPolicy overflowPolicy;
+    private final Duration timeout;
+    private final Set<ProductStreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    public ProductEventBroadcaster(ExecutorService dispatchExecutor, int maxSubscribers, int bufferSize,
+                                   int drainBatchSize, ProductStreamSubscriber.OverflowPolicy overflowPolicy,
+                                   Duration timeout) {
+        this.dispatchExecutor = dispatchExecutor;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.drainBatchSize = drainBatchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeout = timeout;
+    }
+
+    // Returns null when the subscriber cap is reached.
+    public SseEmitter subscribe(Set<String> ids, String manufacturer) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        var emitter = new SseEmitter(timeout.toMillis());
+        var subscriber = new ProductStreamSubscriber(emitter, ids, manufacturer, bufferSize, drainBatchSize,
+                overflowPolicy, dispatchExecutor, this::unsubscribe);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    private void unsubscribe(ProductStreamSubscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    // Subscribers only hear about committed changes when product writes are transactional.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        var data = ProductStreamEvent.of(event);
+        for (var subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(SseEmitter.event()
+                        .name(event.type().name().toLowerCase(Locale.ROOT))
+                        .data(data));
+            }
+        }
+    }
+
+    // Keeps intermediaries from closing idle connections and surfaces dead ones, a failed
+    // write closes the subscriber.
+    @Scheduled(fixedDelayString = "${catalog.stream.heartbeat-interval}",
+            initialDelayString = "${catalog.stream.heartbeat-interval}")
+    public void heartbeat() {
+        for (var subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(ProductStreamSubscriber::close);
+        dispatchExecutor.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.CatalogStats;
+import com.asr.catalogservice.domain.ProductStatsService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!embedded")
+@RequestMapping("/products/stats")
+public class ProductStatsController {
+    private final ProductStatsService service;
+
+    public ProductStatsController(ProductStatsService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public CatalogStats getStats() {
+        return service.getCatalogStats();
+    }
+}
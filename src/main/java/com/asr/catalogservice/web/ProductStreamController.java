@@ -0,0 +1,33 @@
+package com.asr.catalogservice.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/products/stream")
+public class ProductStreamController {
+    private final ProductEventBroadcaster broadcaster;
+
+    public ProductStreamController(ProductEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(name = "id", required = false) List<String> ids,
+                             @RequestParam(required = false) String manufacturer) {
+        var emitter = broadcaster.subscribe(ids == null ? Set.of() : Set.copyOf(ids), manufacturer);
+        if (emitter == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many stream subscribers.");
+        }
+        return emitter;
+    }
+}
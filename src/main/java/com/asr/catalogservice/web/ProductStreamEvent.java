@@ -0,0 +1,12 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductChangedEvent;
+
+// Payload of a /products/stream event, product is null for deletions.
+public record ProductStreamEvent(ProductChangedEvent.Type type, String id, Product product) {
+
+    static ProductStreamEvent of(ProductChangedEvent event) {
+        return new ProductStreamEvent(event.type(), event.productId(), event.current());
+    }
+}
@@ -0,0 +1,124 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// One open /products/stream connection. Events are queued by the publishing thread and written
+// by a shared dispatch pool, at most one drain per subscriber runs at a time so events keep
+// their order without holding a thread while the connection is idle. A drain sends at most
+// drainBatchSize events before going back to the end of the pool's queue, so a busy subscriber
+// does not keep the others waiting. A client that stops reading blocks its send until the
+// connector's write timeout fails it, which closes the subscriber.
+public class ProductStreamSubscriber {
+
+    public enum OverflowPolicy {
+        // Discard the oldest queued event and keep the connection, the client misses that change.
+        DROP_OLDEST,
+        // Close the connection, the client reconnects and catches up through /products/changes.
+        DISCONNECT
+    }
+
+    private final SseEmitter emitter;
+    private final Set<String> ids;
+    private final String manufacturer;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final int drainBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Consumer<ProductStreamSubscriber> onClose;
+
+    ProductStreamSubscriber(SseEmitter emitter, Set<String> ids, String manufacturer, int bufferSize,
+                            int drainBatchSize, OverflowPolicy overflowPolicy, Executor executor,
+                            Consumer<ProductStreamSubscriber> onClose) {
+        this.emitter = emitter;
+        this.ids = ids;
+        this.manufacturer = manufacturer;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.drainBatchSize = drainBatchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        this.onClose = onClose;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // A product that moved away from the requested manufacturer is still reported once.
+    boolean matches(ProductChangedEvent event) {
+        if (!ids.isEmpty() && !ids.contains(event.productId())) {
+            return false;
+        }
+        return manufacturer == null
+                || hasManufacturer(event.previous())
+                || hasManufacturer(event.current());
+    }
+
+    private boolean hasManufacturer(Product product) {
+        return product != null && manufacturer.equalsIgnoreCase(product.manufacturer());
+    }
+
+    void offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get()) {
+            return;
+        }
+        while (!queue.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                close();
+                return;
+            }
+            queue.poll();
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            SseEmitter.SseEventBuilder event;
+            int sent = 0;
+            while (sent < drainBatchSize && !closed.get() && (event = queue.poll()) != null) {
+                emitter.send(event);
+                sent++;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // Events left after a full batch go behind the other subscribers' drains, and an event
+        // offered after the last poll but before the flag was reset would otherwise be stranded.
+        if (!closed.get() && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            onClose.accept(this);
+            emitter.complete();
+        }
+    }
+}
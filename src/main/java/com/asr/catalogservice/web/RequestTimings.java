@@ -0,0 +1,86 @@
+package com.asr.catalogservice.web;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Phase timings of the request being served on the current thread. Only present while
+// ServerTimingFilter is enabled, recorders must tolerate current() returning null.
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+    private final List<TimingSpan> spans = new ArrayList<>();
+
+    private RequestTimings(String name) {
+        this.name = name;
+    }
+
+    static RequestTimings start(String name) {
+        var timings = new RequestTimings(name);
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public void record(String phase, String spanName, long spanStartNanos, long durationNanos) {
+        phases.computeIfAbsent(phase, key -> new Phase()).add(durationNanos);
+        spans.add(new TimingSpan(spanName, spanStartNanos - startNanos, durationNanos));
+    }
+
+    public void record(String phase, long spanStartNanos, long durationNanos) {
+        record(phase, phase, spanStartNanos, durationNanos);
+    }
+
+    String name() {
+        return name;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    List<TimingSpan> spans() {
+        return spans;
+    }
+
+    // Everything not attributed to a recorded phase is reported as "app", i.e. service
+    // logic plus framework overhead.
+    String toServerTimingHeader() {
+        long total = elapsedNanos();
+        long attributed = phases.values().stream().mapToLong(phase -> phase.nanos).sum();
+        var metrics = phases.entrySet().stream()
+                .map(entry -> metric(entry.getKey(), entry.getValue().nanos)
+                        + (entry.getValue().count > 1 ? ";desc=\"" + entry.getValue().count + " calls\"" : ""))
+                .collect(Collectors.toCollection(ArrayList::new));
+        metrics.add(metric("app", Math.max(0, total - attributed)));
+        metrics.add(metric("total", total));
+        return String.join(", ", metrics);
+    }
+
+    private static String metric(String name, long nanos) {
+        return String.format(Locale.ROOT, "%s;dur=%.2f", name, nanos / 1_000_000.0);
+    }
+
+    private static final class Phase {
+        private long nanos;
+        private int count;
+
+        private void add(long durationNanos) {
+            nanos += durationNanos;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.asr.catalogservice.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final List<SpanExporter> exporters;
+
+    public ServerTimingFilter(List<SpanExporter> exporters) {
+        this.exporters = exporters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var timings = RequestTimings.start(request.getMethod() + " " + request.getRequestURI());
+        var timedResponse = new ServerTimingResponse(response, timings);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            // Bodiless responses (e.g. 204) never touch the output stream.
+            timedResponse.writeHeader();
+            RequestTimings.clear();
+            TimingRequestBodyAdvice.clear();
+            export(timings);
+        }
+    }
+
+    private void export(RequestTimings timings) {
+        long duration = timings.elapsedNanos();
+        for (var exporter : exporters) {
+            try {
+                exporter.export(timings.name(), duration, timings.spans());
+            } catch (RuntimeException e) {
+                log.warn("Span exporter {} failed", exporter.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // Headers can only be added before the response is committed, so the header is written
+    // right before the first byte of the body goes out.
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private boolean headerWritten;
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.asr.catalogservice.web;
+
+import java.util.List;
+
+public interface SpanExporter {
+    void export(String requestName, long durationNanos, List<TimingSpan> spans);
+}
@@ -0,0 +1,51 @@
+package com.asr.catalogservice.web;
+
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+// Times Bean Validation of request bodies for Server-Timing.
+public class TimedValidator implements SmartValidator {
+    private final SmartValidator delegate;
+
+    public TimedValidator(SmartValidator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long start = System.nanoTime();
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    private static void record(long start) {
+        var timings = RequestTimings.current();
+        if (timings != null) {
+            timings.record("validate", start, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.asr.catalogservice.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+// Times request body binding (reading and deserializing the payload) for Server-Timing.
+@ControllerAdvice
+public class TimingRequestBodyAdvice extends RequestBodyAdviceAdapter {
+    private static final ThreadLocal<Long> BIND_START = new ThreadLocal<>();
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return RequestTimings.current() != null;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        BIND_START.set(System.nanoTime());
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        recordBind();
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                  Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        recordBind();
+        return body;
+    }
+
+    // A read that throws reaches neither callback, ServerTimingFilter clears the start then.
+    static void clear() {
+        BIND_START.remove();
+    }
+
+    private static void recordBind() {
+        Long start = BIND_START.get();
+        var timings = RequestTimings.current();
+        if (start != null && timings != null) {
+            timings.record("bind", start, System.nanoTime() - start);
+        }
+        BIND_START.remove();
+    }
+}
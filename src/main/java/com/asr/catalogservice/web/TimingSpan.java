@@ -0,0 +1,5 @@
+package com.asr.catalogservice.web;
+
+// Offsets are relative to the start of the request.
+public record TimingSpan(String name, long startOffsetNanos, long durationNanos) {
+}
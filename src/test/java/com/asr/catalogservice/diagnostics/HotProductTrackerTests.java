@@ -0,0 +1,54 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotProductTrackerTests {
+
+    @Test
+    @DisplayName("when reads are skewed, should rank the most read ids first")
+    void topK_whenReadsSkewed_shouldRankHottestFirst() {
+        // Given
+        var tracker = new HotProductTracker(1024, 3, Duration.ofMinutes(1));
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("cold-" + i);
+        }
+        for (int i = 0; i < 300; i++) {
+            tracker.record("hot-1");
+            if (i % 2 == 0) {
+                tracker.record("hot-2");
+            }
+            if (i % 3 == 0) {
+                tracker.record("hot-3");
+            }
+        }
+
+        // Then
+        assertThat(tracker.topIds(3)).containsExactly("hot-1", "hot-2", "hot-3");
+        assertThat(tracker.estimate("hot-1")).isGreaterThanOrEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("when decayed, should halve estimates and drop ids no longer read")
+    void decay_shouldHalveEstimates() {
+        // Given
+        var tracker = new HotProductTracker(1024, 10, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            tracker.record("hot");
+        }
+        tracker.record("once");
+
+        // When
+        tracker.decay();
+
+        // Then
+        assertThat(tracker.estimate("hot")).isEqualTo(50);
+        assertThat(tracker.topIds(10)).containsExactly("hot");
+    }
+}
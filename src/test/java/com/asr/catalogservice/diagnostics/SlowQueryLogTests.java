@@ -0,0 +1,88 @@
+package com.asr.catalogservice.diagnostics;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTests {
+
+    @Test
+    @DisplayName("query shape should replace literal values but keep sort and collection")
+    void queryShape_shouldNormalizeValues() {
+        // Given
+        var command = BsonDocument.parse("""
+                {"find": "product", "filter": {"name": "IPhone", "price": {"$in": [1, 2, 3]}},
+                 "sort": {"price": -1}, "limit": 10, "$db": "product_catalog", "lsid": {"id": 1}}
+                """);
+
+        // When
+        var shape = QueryShape.of(command);
+
+        // Then
+        assertThat(BsonDocument.parse(shape)).isEqualTo(BsonDocument.parse("""
+                {"find": "product", "filter": {"name": "?", "price": {"$in": ["?"]}}, "sort": {"price": -1}}
+                """));
+    }
+
+    @Test
+    @DisplayName("same query with different values, should be grouped under one shape")
+    void record_whenSameShape_shouldGroup() {
+        // Given
+        var slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 10);
+
+        // When
+        slowQueryLog.record("db", BsonDocument.parse("{\"find\": \"product\", \"filter\": {\"name\": \"a\"}}"),
+                Duration.ofMillis(150).toNanos(), 1);
+        slowQueryLog.record("db", BsonDocument.parse("{\"find\": \"product\", \"filter\": {\"name\": \"b\"}}"),
+                Duration.ofMillis(250).toNanos(), 0);
+
+        // Then
+        assertThat(slowQueryLog.report()).singleElement()
+                .satisfies(report -> {
+                    assertThat(report.count()).isEqualTo(2);
+                    assertThat(report.maxMillis()).isEqualTo(250.0);
+                    assertThat(report.averageMillis()).isEqualTo(200.0);
+                    assertThat(report.lastDocsReturned()).isZero();
+                });
+    }
+
+    @Test
+    @DisplayName("when max shapes reached, new shapes should be dropped")
+    void record_whenMaxShapesReached_shouldDrop() {
+        // Given
+        var slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 1);
+
+        // When
+        slowQueryLog.record("db", BsonDocument.parse("{\"find\": \"product\", \"filter\": {\"name\": \"a\"}}"),
+                Duration.ofMillis(150).toNanos(), 1);
+        slowQueryLog.record("db", BsonDocument.parse("{\"count\": \"product\", \"query\": {}}"),
+                Duration.ofMillis(150).toNanos(), 1);
+
+        // Then
+        assertThat(slowQueryLog.report()).hasSize(1);
+        assertThat(slowQueryLog.droppedShapes()).isOne();
+    }
+
+    @Test
+    @DisplayName("sample should keep the first update statement without its update document")
+    void sample_shouldDropWritePayloads() {
+        // Given
+        var command = BsonDocument.parse("""
+                {"update": "product", "ordered": true, "$db": "product_catalog",
+                 "updates": [{"q": {"_id": 1}, "u": {"name": "a", "description": "long"}, "upsert": true},
+                             {"q": {"_id": 2}, "u": {"name": "b"}}]}
+                """);
+
+        // When
+        var sample = QueryShape.sample(command);
+
+        // Then
+        assertThat(sample).isEqualTo(BsonDocument.parse("""
+                {"update": "product", "updates": [{"q": {"_id": 1}, "u": {}, "upsert": true}]}
+                """));
+    }
+}
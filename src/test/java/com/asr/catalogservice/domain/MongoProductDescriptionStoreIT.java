@@ -0,0 +1,124 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.config.DataConfig;
+import com.asr.catalogservice.config.DescriptionStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+@DataMongoTest(properties = {
+        "catalog.descriptions.inline-max-length=16",
+        "catalog.descriptions.grid-fs-min-length=64"
+})
+@Testcontainers
+@Import({DataConfig.class, DescriptionStorageConfig.class})
+@ActiveProfiles("integration")
+class MongoProductDescriptionStoreIT {
+    private static final String MEDIUM = "A description longer than sixteen characters.";
+    private static final String LARGE = "A description long enough to be kept in GridFS. ".repeat(4);
+
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private GridFsOperations gridFs;
+
+    @Autowired
+    private MongoProductDescriptionStore descriptionStore;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        mongoTemplate.dropCollection(ProductDescription.class);
+        gridFs.delete(query(whereFilename().exists(true)));
+    }
+
+    @Test
+    @DisplayName("when description is long, should keep it out of the product document and load it on demand")
+    void save_whenDescriptionIsLong_shouldSplitIt() {
+        // When
+        var saved = productRepository.save(Product.of("Medium", MEDIUM, "Manufacturer", 1.0, 1L));
+
+        // Then
+        assertThat(saved.description()).isEqualTo(MEDIUM);
+        var stored = mongoTemplate.getCollection("product").find().first();
+        assertThat(stored).doesNotContainKey("description");
+        var found = productRepository.findById(saved.id()).orElseThrow();
+        assertThat(found.description()).isNull();
+        assertThat(descriptionStore.load(found).description()).isEqualTo(MEDIUM);
+    }
+
+    @Test
+    @DisplayName("when description is short, should keep it inline")
+    void save_whenDescriptionIsShort_shouldKeepItInline() {
+        // When
+        var saved = productRepository.save(Product.of("Short", "Short text", "Manufacturer", 1.0, 1L));
+
+        // Then
+        assertThat(productRepository.findById(saved.id()).orElseThrow().description()).isEqualTo("Short text");
+        assertThat(mongoTemplate.count(new Query(), ProductDescription.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("when description is very long, should store it in GridFS and load lists in one go")
+    void save_whenDescriptionIsVeryLong_shouldUseGridFs() {
+        // Given
+        var large = productRepository.save(Product.of("Large", LARGE, "Manufacturer", 1.0, 1L));
+        var medium = productRepository.save(Product.of("Medium", MEDIUM, "Manufacturer", 1.0, 1L));
+
+        // When
+        var loaded = descriptionStore.loadAll(List.of(
+                productRepository.findById(large.id()).orElseThrow(),
+                productRepository.findById(medium.id()).orElseThrow()));
+
+        // Then
+        assertThat(gridFs.findOne(query(whereFilename().is(large.id())))).isNotNull();
+        assertThat(loaded).extracting(Product::description).containsExactly(LARGE, MEDIUM);
+    }
+
+    @Test
+    @DisplayName("when an update shortens the description, should inline it and drop the split copy")
+    void save_whenDescriptionShrinks_shouldDropSplitCopy() {
+        // Given
+        var saved = productRepository.save(Product.of("Large", LARGE, "Manufacturer", 1.0, 1L));
+        var found = productRepository.findById(saved.id()).orElseThrow();
+
+        // When
+        productRepository.save(new Product(found.id(), found.name(), "Short text", found.manufacturer(),
+                found.price(), found.units(), found.createdDate(), found.lastModifiedDate(), found.version()));
+
+        // Then
+        assertThat(mongoTemplate.findById(saved.id(), ProductDescription.class)).isNull();
+        assertThat(gridFs.findOne(query(whereFilename().is(saved.id())))).isNull();
+        assertThat(productRepository.findById(saved.id()).orElseThrow().description()).isEqualTo("Short text");
+    }
+}
@@ -0,0 +1,64 @@
+package com.asr.catalogservice.domain;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheInvalidatorTests {
+
+    @Mock
+    private ProductChangeService changeService;
+
+    private CaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineCache(ProductService.PRODUCTS_CACHE, Caffeine.newBuilder().maximumSize(100).build());
+    }
+
+    @Test
+    @DisplayName("evict changed, should evict products changed elsewhere and resume after the last change")
+    void evictChanged_shouldEvictChangedProducts() {
+        // Given
+        var invalidator = new ProductCacheInvalidator(cache, changeService, 10, 5);
+        var product = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        cache.put("changed", product);
+        cache.put("deleted", product);
+        cache.put("untouched", product);
+        var upserted = new ProductChange(ProductChange.Type.UPSERTED, "changed", Instant.ofEpochMilli(1), product);
+        var deleted = new ProductChange(ProductChange.Type.DELETED, "deleted", Instant.ofEpochMilli(2), null);
+        var firstToken = new ChangeToken(Instant.ofEpochMilli(1), "changed");
+        var lastToken = new ChangeToken(Instant.ofEpochMilli(2), "deleted");
+        given(changeService.findChangesWithoutDescriptions(any(), anyInt()))
+                .willReturn(new ProductChanges(List.of(upserted), firstToken.encode(), true))
+                .willReturn(new ProductChanges(List.of(deleted), lastToken.encode(), false));
+
+        // When
+        invalidator.evictChanged();
+        invalidator.evictChanged();
+
+        // Then
+        assertThat(cache.get("changed")).isNull();
+        assertThat(cache.get("deleted")).isNull();
+        assertThat(cache.get("untouched")).isNotNull();
+        then(changeService).should().findChangesWithoutDescriptions(eq(lastToken), eq(10));
+        then(changeService).should(never()).findChanges(any(), anyInt());
+    }
+}
@@ -0,0 +1,108 @@
+package com.asr.catalogservice.domain;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheWarmerTests {
+
+    @TempDir
+    private Path dir;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductDescriptionStore descriptionStore;
+
+    private CaffeineCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CaffeineCache(ProductService.PRODUCTS_CACHE, Caffeine.newBuilder().maximumSize(100).build());
+    }
+
+    @Test
+    @DisplayName("persist hot keys, should write the hottest cached product ids")
+    void persistHotKeys_shouldWriteHottestIds() throws Exception {
+        // Given
+        var snapshotFile = dir.resolve("hot.txt");
+        var warmer = new ProductCacheWarmer(cache, productRepository, descriptionStore, snapshotFile, 10, 10, 2,
+                Duration.ofSeconds(1));
+        cache.put("hot", Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+        cache.put("cold", Product.of("Name2", "Description", "Manufacturer", 1.0, 1L));
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot");
+        }
+
+        // When
+        warmer.persistHotKeys();
+
+        // Then
+        assertThat(Files.readAllLines(snapshotFile)).containsExactly("hot", "cold");
+    }
+
+    @Test
+    @DisplayName("run with snapshot, should preload products with their descriptions in batches")
+    void run_whenSnapshotExists_shouldPreloadCache() throws Exception {
+        // Given
+        var snapshotFile = dir.resolve("hot.txt");
+        Files.write(snapshotFile, List.of("id1", "id2", "id3"));
+        var warmer = new ProductCacheWarmer(cache, productRepository, descriptionStore, snapshotFile, 10, 2, 2,
+                Duration.ofSeconds(5));
+        given(productRepository.findAllById(anyIterable())).willAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            var products = new ArrayList<Product>();
+            ids.forEach(id -> products.add(new Product(id, "Name " + id, null, "Manufacturer", 1.0, 1L,
+                    null, null, 1)));
+            return products;
+        });
+        given(descriptionStore.loadAll(anyList())).willAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            return products.stream()
+                    .map(product -> new Product(product.id(), product.name(), "Split description",
+                            product.manufacturer(), product.price(), product.units(), null, null, product.version()))
+                    .toList();
+        });
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(cache.get("id1", Product.class)).extracting(Product::description).isEqualTo("Split description");
+        assertThat(cache.get("id3", Product.class)).extracting(Product::description).isEqualTo("Split description");
+    }
+
+    @Test
+    @DisplayName("run without snapshot, should do nothing")
+    void run_whenNoSnapshot_shouldSkip() throws Exception {
+        // Given
+        var warmer = new ProductCacheWarmer(cache, productRepository, descriptionStore, dir.resolve("missing.txt"),
+                10, 2, 2, Duration.ofSeconds(1));
+
+        // When
+        warmer.run(new DefaultApplicationArguments());
+
+        // Then
+        assertThat(cache.getNativeCache().estimatedSize()).isZero();
+    }
+}
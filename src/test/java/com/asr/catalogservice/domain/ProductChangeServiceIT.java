@@ -0,0 +1,120 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.config.DataConfig;
+import com.asr.catalogservice.config.DescriptionStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest(properties = {
+        "catalog.changes.settle-time=0s",
+        "catalog.descriptions.inline-max-length=16"
+})
+@Testcontainers
+@Import({DataConfig.class, DescriptionStorageConfig.class, ProductChangeService.class})
+@ActiveProfiles("integration")
+class ProductChangeServiceIT {
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductChangeService changeService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Product.class);
+        mongoTemplate.dropCollection(ProductTombstone.class);
+        mongoTemplate.dropCollection(ProductDescription.class);
+    }
+
+    @Test
+    @DisplayName("when a product's description was split off, the change should carry it")
+    void findChanges_whenDescriptionSplit_shouldLoadIt() {
+        // Given
+        var description = "A description longer than sixteen characters.";
+        mongoTemplate.save(Product.of("Name", description, "Apple", 10.0, 2L));
+
+        // When
+        var changes = changeService.findChanges(null, 10);
+
+        // Then
+        assertThat(changes.changes()).singleElement()
+                .satisfies(change -> assertThat(change.product().description()).isEqualTo(description));
+    }
+
+    @Test
+    @DisplayName("when paging through changes, each change should be returned exactly once")
+    void findChanges_whenPaging_shouldReturnEachChangeOnce() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            mongoTemplate.save(Product.of("Name" + i, "Description", "Apple", 10.0, 2L));
+        }
+
+        // When
+        var first = changeService.findChanges(null, 3);
+        var second = changeService.findChanges(ChangeToken.parse(first.nextToken()), 3);
+
+        // Then
+        assertThat(first.changes()).hasSize(3);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.changes()).hasSize(2);
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.changes()).extracting(ProductChange::id)
+                .doesNotContainAnyElementsOf(first.changes().stream().map(ProductChange::id).toList());
+    }
+
+    @Test
+    @DisplayName("when a product is deleted after the token, a tombstone should be returned")
+    void findChanges_whenDeleted_shouldReturnTombstone() {
+        // Given
+        var product = mongoTemplate.save(Product.of("Name", "Description", "Apple", 10.0, 2L));
+        var token = changeService.findChanges(null, 10).nextToken();
+        mongoTemplate.remove(product);
+        changeService.onProductChanged(ProductChangedEvent.deleted(product));
+
+        // When
+        var changes = changeService.findChanges(ChangeToken.parse(token), 10);
+
+        // Then
+        assertThat(changes.changes()).singleElement().satisfies(change -> {
+            assertThat(change.type()).isEqualTo(ProductChange.Type.DELETED);
+            assertThat(change.id()).isEqualTo(product.id());
+            assertThat(change.product()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("when nothing changed since the token, the same token should be returned")
+    void findChanges_whenNothingChanged_shouldKeepToken() {
+        // Given
+        mongoTemplate.save(Product.of("Name", "Description", "Apple", 10.0, 2L));
+        var token = changeService.findChanges(null, 10).nextToken();
+
+        // When
+        var changes = changeService.findChanges(ChangeToken.parse(token), 10);
+
+        // Then
+        assertThat(changes.changes()).isEmpty();
+        assertThat(changes.nextToken()).isEqualTo(token);
+    }
+}
@@ -0,0 +1,130 @@
+package com.asr.catalogservice.domain;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCodecTests {
+    private final ProductCodec codec = new ProductCodec();
+
+    @Test
+    @DisplayName("codec should round trip product with object id, audit dates and version")
+    void codec_shouldRoundTrip() {
+        // Given
+        var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Name", "Description", "Manufacturer", 1.0, 2L,
+                now, now, 3);
+
+        // When
+        var decoded = decode(encode(product));
+
+        // Then
+        assertThat(decoded).isEqualTo(product);
+    }
+
+    @Test
+    @DisplayName("codec and converters should produce the same stored document")
+    void codec_shouldMatchConverters() {
+        // Given
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Name", null, "Manufacturer", 1.0, 2L,
+                Instant.now(), null, 0);
+
+        // When
+        var codecDocument = new DocumentCodec().decode(new BsonBinaryReader(ByteBuffer.wrap(encode(product))),
+                DecoderContext.builder().build());
+        var converterDocument = ProductConverters.ProductWriteConverter.INSTANCE.convert(product);
+
+        // Then
+        assertThat(codecDocument).isEqualTo(converterDocument);
+        assertThat(codecDocument.get("_id")).isInstanceOf(ObjectId.class);
+        assertThat(codecDocument).doesNotContainKey("description");
+    }
+
+    @Test
+    @DisplayName("read converter should accept numbers stored with other numeric types")
+    void readConverter_shouldWidenNumbers() {
+        // Given
+        var document = new Document("_id", new ObjectId("64b13f81160f6f18fe1fdd49"))
+                .append("name", "Name")
+                .append("manufacturer", "Manufacturer")
+                .append("price", 5)
+                .append("units", 7);
+
+        // When
+        var product = ProductConverters.ProductReadConverter.INSTANCE.convert(document);
+
+        // Then
+        assertThat(product.id()).isEqualTo("64b13f81160f6f18fe1fdd49");
+        assertThat(product.price()).isEqualTo(5.0);
+        assertThat(product.units()).isEqualTo(7L);
+        assertThat(product.version()).isZero();
+    }
+
+    @Test
+    @DisplayName("compact codec should match the compact converter and read back through either")
+    void compactCodec_shouldMatchConvertersAndRoundTrip() {
+        // Given
+        var now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Name", "Description", "Manufacturer", 19.99, 2L,
+                now, now, 3);
+        var compactCodec = new ProductCodec(ProductLayout.COMPACT);
+        var buffer = new BasicOutputBuffer();
+        compactCodec.encode(new BsonBinaryWriter(buffer), product, EncoderContext.builder().build());
+
+        // When
+        var codecDocument = new DocumentCodec().decode(
+                new BsonBinaryReader(ByteBuffer.wrap(buffer.toByteArray())), DecoderContext.builder().build());
+        var converterDocument = ProductConverters.ProductWriteConverter.COMPACT.convert(product);
+
+        // Then
+        assertThat(codecDocument).isEqualTo(converterDocument);
+        assertThat(codecDocument).containsOnlyKeys("_id", "n", "d", "m", "p", "u", "c", "l", "v");
+        assertThat(codecDocument.get("p")).isEqualTo(new Decimal128(new BigDecimal("19.99")));
+        assertThat(codecDocument.get("u")).isEqualTo(2);
+        assertThat(decode(buffer.toByteArray())).isEqualTo(product);
+        assertThat(ProductConverters.fromDocument(converterDocument)).isEqualTo(product);
+    }
+
+    @Test
+    @DisplayName("compact document should be smaller than the standard one")
+    void compactLayout_shouldShrinkDocument() {
+        // Given
+        var now = Instant.now();
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Name", "Description", "Manufacturer", 1.0, 2L,
+                now, now, 0);
+
+        // When
+        var standard = encode(product).length;
+        var compactBuffer = new BasicOutputBuffer();
+        new ProductCodec(ProductLayout.COMPACT)
+                .encode(new BsonBinaryWriter(compactBuffer), product, EncoderContext.builder().build());
+
+        // Then
+        assertThat(compactBuffer.toByteArray().length).isLessThan(standard - 50);
+    }
+
+    private byte[] encode(Product product) {
+        var buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), product, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    private Product decode(byte[] bson) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+    }
+}
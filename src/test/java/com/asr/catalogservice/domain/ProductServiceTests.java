@@ -8,15 +8,26 @@ import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTests {
@@ -24,6 +35,16 @@ class ProductServiceTests {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ConflictRetryPolicy conflictRetryPolicy =
+            new ConflictRetryPolicy(3, Duration.ZERO, Duration.ZERO, TransactionOperations.withoutTransaction());
+
+    @Spy
+    private InlineProductDescriptionStore descriptionStore = new InlineProductDescriptionStore();
+
     @InjectMocks
     private ProductService productService;
 
@@ -76,6 +97,25 @@ class ProductServiceTests {
                 .isEqualTo(product);
     }
 
+    @Test
+    @DisplayName("find product by id, should read from the primary since the result is cached")
+    void findProductById_shouldNotUseReadTier() {
+        // Given
+        String productId = "64b13f81160f6f18fe1fdd49";
+        var product = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var tier = new AtomicReference<OperationTier>();
+        given(productRepository.findById(productId)).willAnswer(invocation -> {
+            tier.set(OperationTier.current());
+            return Optional.of(product);
+        });
+
+        // When
+        productService.findProductById(productId);
+
+        // Then
+        assertThat(tier).hasValue(OperationTier.INTERACTIVE_WRITE);
+    }
+
     @Test
     @DisplayName("save product when already exists, should throw exception")
     void saveProduct_whenAlreadyExists_shouldThrowException() {
@@ -104,6 +144,55 @@ class ProductServiceTests {
         // Then
         assertThat(actualProduct)
                 .isEqualTo(product);
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.created(product));
+    }
+
+    @Test
+    @DisplayName("save products when batch contains duplicate names, should throw exception")
+    void saveProducts_whenDuplicateNames_shouldThrowException() {
+        // Given
+        var product1 = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var product2 = Product.of("Name", "Description2", "Manufacturer2", 2.0, 2L);
+
+        // When + Then
+        assertThatExceptionOfType(ProductAlreadyExistsException.class)
+                .isThrownBy(() -> productService.saveProducts(List.of(product1, product2)))
+                .withMessage("Product with name 'Name' already exists.");
+    }
+
+    @Test
+    @DisplayName("save products when names are free, should check them in one query and save all")
+    void saveProducts_whenNamesAreFree_shouldSaveAll() {
+        // Given
+        var product1 = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var product2 = Product.of("Name2", "Description2", "Manufacturer2", 2.0, 2L);
+        var products = List.of(product1, product2);
+        given(productRepository.findByNameIn(Set.of("Name", "Name2"))).willReturn(List.of());
+        given(productRepository.saveAll(products)).willReturn(products);
+
+        // When
+        var savedProducts = productService.saveProducts(products);
+
+        // Then
+        assertThat(savedProducts).containsExactly(product1, product2);
+        then(productRepository).should(never()).existsByName(any());
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.created(product1));
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.created(product2));
+    }
+
+    @Test
+    @DisplayName("save products when a name is taken, should throw exception and save nothing")
+    void saveProducts_whenNameTaken_shouldThrowException() {
+        // Given
+        var product1 = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var product2 = Product.of("Name2", "Description2", "Manufacturer2", 2.0, 2L);
+        given(productRepository.findByNameIn(Set.of("Name", "Name2"))).willReturn(List.of(product2));
+
+        // When + Then
+        assertThatExceptionOfType(ProductAlreadyExistsException.class)
+                .isThrownBy(() -> productService.saveProducts(List.of(product1, product2)))
+                .withMessage("Product with name 'Name2' already exists.");
+        then(productRepository).should(never()).saveAll(any());
     }
 
     @NullSource
@@ -133,7 +222,7 @@ class ProductServiceTests {
         // Given
         String productId = "64b13f81160f6f18fe1fdd49";
         var product = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
-        given(productRepository.existsById(productId)).willReturn(false);
+        given(productRepository.findById(productId)).willReturn(Optional.empty());
 
         // When + Then
         assertThatExceptionOfType(ProductNotFoundException.class)
@@ -141,6 +230,23 @@ class ProductServiceTests {
                 .withMessage("Product with ID '" + productId + "' was not found.");
     }
 
+    @Test
+    @DisplayName("delete product by id when exists, should delete and publish deleted event")
+    void deleteProductById_whenExists_shouldDeleteProduct() {
+        // Given
+        String productId = "64b13f81160f6f18fe1fdd49";
+        var product = new Product(productId, "Name", "Description", "Manufacturer", 1.0, 1L,
+                Instant.now(), Instant.now(), 1);
+        given(productRepository.findById(productId)).willReturn(Optional.of(product));
+
+        // When
+        productService.deleteProductById(productId);
+
+        // Then
+        then(productRepository).should().deleteById(productId);
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.deleted(product));
+    }
+
     @Test
     @DisplayName("update product, should update the product")
     void updateProduct_shouldUpdate() {
@@ -161,6 +267,69 @@ class ProductServiceTests {
         // Then
         assertThat(actualProduct)
                 .isEqualTo(updatedProduct);
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.updated(existingProduct, updatedProduct));
+    }
+
+    @Test
+    @DisplayName("update product when the version conflicts once, should retry on the re-read product")
+    void updateProduct_whenConflictOnce_shouldRetry() {
+        // Given
+        String productId = "64b13f81160f6f18fe1fdd49";
+        var staleProduct = new Product(productId, "Name", "Description", "Manufacturer", 1.0, 1L,
+                Instant.now(), null, 1);
+        var currentProduct = new Product(productId, "Name", "Other Description", "Manufacturer", 1.0, 1L,
+                staleProduct.createdDate(), null, 2);
+        given(productRepository.findById(productId))
+                .willReturn(Optional.of(staleProduct), Optional.of(currentProduct));
+        var change = Product.of("Name", "Updated Description", "Manufacturer", 3.0, 3L);
+        var staleUpdate = new Product(productId, "Name", "Updated Description", "Manufacturer", 3.0, 3L,
+                staleProduct.createdDate(), null, 1);
+        var currentUpdate = new Product(productId, "Name", "Updated Description", "Manufacturer", 3.0, 3L,
+                staleProduct.createdDate(), null, 2);
+        given(productRepository.save(staleUpdate))
+                .willThrow(new OptimisticLockingFailureException("Version 1 is stale"));
+        given(productRepository.save(currentUpdate)).willReturn(currentUpdate);
+
+        // When
+        var actualProduct = productService.updateProduct(productId, change);
+
+        // Then
+        assertThat(actualProduct).isEqualTo(currentUpdate);
+        assertThat(conflictRetryPolicy.getStats().retries()).isEqualTo(1);
+        then(eventPublisher).should().publishEvent(ProductChangedEvent.updated(currentProduct, currentUpdate));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("update product when conflicts persist, should give up with a conflict exception")
+    void updateProduct_whenConflictPersists_shouldThrowException() {
+        // Given
+        String productId = "64b13f81160f6f18fe1fdd49";
+        var existingProduct = new Product(productId, "Name", "Description", "Manufacturer", 1.0, 1L,
+                Instant.now(), null, 1);
+        given(productRepository.findById(productId)).willReturn(Optional.of(existingProduct));
+        given(productRepository.save(any(Product.class)))
+                .willThrow(new OptimisticLockingFailureException("Version 1 is stale"));
+
+        // When + Then
+        assertThatExceptionOfType(ProductUpdateConflictException.class)
+                .isThrownBy(() -> productService.updateProduct(productId, existingProduct))
+                .withMessage("Product with ID '" + productId + "' was modified concurrently, gave up after 3 attempts.");
+        then(productRepository).should(times(3)).save(any(Product.class));
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("find product by id, should load its description through the store")
+    void findProductById_shouldLoadDescription() {
+        // Given
+        String productId = "64b13f81160f6f18fe1fdd49";
+        var product = new Product(productId, "Name", null, "Manufacturer", 1.0, 1L, Instant.now(), null, 1);
+        given(productRepository.findById(productId)).willReturn(Optional.of(product));
+
+        // When
+        productService.findProductById(productId);
+
+        // Then
+        then(descriptionStore).should().load(product);
+    }
+}
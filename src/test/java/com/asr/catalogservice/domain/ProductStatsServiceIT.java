@@ -0,0 +1,106 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.config.DataConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+@Import({DataConfig.class, ProductStatsService.class})
+@ActiveProfiles("integration")
+class ProductStatsServiceIT {
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Product.class);
+        mongoTemplate.dropCollection(ManufacturerStats.class);
+    }
+
+    @Test
+    @DisplayName("when products are created, stats should be updated incrementally")
+    void onProductChanged_whenCreated_shouldUpdateStats() {
+        // Given
+        var product1 = mongoTemplate.save(Product.of("Name", "Description", "Apple", 10.0, 2L));
+        var product2 = mongoTemplate.save(Product.of("Name2", "Description2", "Apple", 30.0, 3L));
+
+        // When
+        statsService.onProductChanged(ProductChangedEvent.created(product1));
+        statsService.onProductChanged(ProductChangedEvent.created(product2));
+        var stats = statsService.getCatalogStats();
+
+        // Then
+        assertThat(stats.productCount()).isEqualTo(2);
+        assertThat(stats.totalUnits()).isEqualTo(5);
+        assertThat(stats.manufacturers()).singleElement()
+                .satisfies(manufacturer -> {
+                    assertThat(manufacturer.name()).isEqualTo("Apple");
+                    assertThat(manufacturer.minPrice()).isEqualTo(10.0);
+                    assertThat(manufacturer.averagePrice()).isEqualTo(20.0);
+                    assertThat(manufacturer.maxPrice()).isEqualTo(30.0);
+                });
+    }
+
+    @Test
+    @DisplayName("when product with extreme price is deleted, stats should be recomputed")
+    void onProductChanged_whenExtremeDeleted_shouldRecompute() {
+        // Given
+        var product1 = mongoTemplate.save(Product.of("Name", "Description", "Apple", 10.0, 2L));
+        var product2 = mongoTemplate.save(Product.of("Name2", "Description2", "Apple", 30.0, 3L));
+        statsService.onProductChanged(ProductChangedEvent.created(product1));
+        statsService.onProductChanged(ProductChangedEvent.created(product2));
+
+        // When
+        mongoTemplate.remove(product2);
+        statsService.onProductChanged(ProductChangedEvent.deleted(product2));
+        var stats = statsService.getCatalogStats();
+
+        // Then
+        assertThat(stats.productCount()).isOne();
+        assertThat(stats.maxPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    @DisplayName("reconcile should rebuild stats from products")
+    void reconcile_shouldRebuildStats() {
+        // Given
+        mongoTemplate.save(Product.of("Name", "Description", "Apple", 10.0, 2L));
+        mongoTemplate.save(Product.of("Name2", "Description2", "Samsung", 30.0, 3L));
+        mongoTemplate.save(new ManufacturerStats("Nokia", 1, 1, 1.0, 1.0, 1.0));
+
+        // When
+        statsService.reconcile();
+        var stats = statsService.getCatalogStats();
+
+        // Then
+        assertThat(stats.manufacturers())
+                .extracting(CatalogStats.Manufacturer::name)
+                .containsExactly("Apple", "Samsung");
+        assertThat(stats.productCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,97 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.config.ConflictRetryConfig;
+import com.asr.catalogservice.config.DataConfig;
+import com.asr.catalogservice.config.DescriptionStorageConfig;
+import com.asr.catalogservice.config.OutboxConfig;
+import com.asr.catalogservice.outbox.OutboxEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Product writes, their outbox events and the stats listener as wired with catalog.outbox.transactional.
+@DataMongoTest(properties = "catalog.outbox.transactional=true")
+@Testcontainers
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, TransactionAutoConfiguration.class})
+@Import({DataConfig.class, OutboxConfig.class, ConflictRetryConfig.class, DescriptionStorageConfig.class,
+        ProductStatsService.class, ProductService.class})
+@ActiveProfiles("integration")
+class ProductStatsTransactionIT {
+    private static final int WRITERS = 8;
+
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.remove(new Query(), Product.class);
+        mongoTemplate.remove(new Query(), ManufacturerStats.class);
+        mongoTemplate.remove(new Query(), OutboxEvent.class);
+    }
+
+    @Test
+    @DisplayName("when products of one manufacturer are created concurrently, every write and its stats should commit")
+    void saveProduct_whenConcurrentSameManufacturer_shouldCommitAll() throws Exception {
+        // Given
+        var start = new CountDownLatch(1);
+        var tasks = IntStream.range(0, WRITERS)
+                .mapToObj(i -> (Callable<Product>) () -> {
+                    start.await();
+                    return productService.saveProduct(Product.of("Name" + i, "Description", "Apple", 10.0 + i, 1L));
+                })
+                .toList();
+        var executor = Executors.newFixedThreadPool(WRITERS);
+
+        // When
+        try {
+            var futures = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(mongoTemplate.count(new Query(), Product.class)).isEqualTo(WRITERS);
+        assertThat(mongoTemplate.count(new Query(), OutboxEvent.class)).isEqualTo(WRITERS);
+        assertThat(statsService.getCatalogStats().productCount()).isEqualTo(WRITERS);
+    }
+}
@@ -0,0 +1,115 @@
+package com.asr.catalogservice.domain;
+
+import com.asr.catalogservice.embedded.InMemoryProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many writers updating a handful of hot products through ProductService and the embedded store.
+// Logs conflict rate, retries and throughput per writer count, so a change to the update path
+// shows where it stops scaling.
+class ProductUpdateContentionTests {
+    private static final Logger log = LoggerFactory.getLogger(ProductUpdateContentionTests.class);
+    private static final int HOT_PRODUCTS = 3;
+    private static final int UPDATES_PER_WRITER = 100;
+
+    @TempDir
+    private Path dataDir;
+
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository(dataDir, 16 * 1024 * 1024, false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @ParameterizedTest(name = "{0} writers")
+    @ValueSource(ints = {1, 2, 4, 8, 16})
+    @DisplayName("concurrent updates of hot products, should apply every successful update exactly once")
+    void updateProduct_underContention(int writers) throws Exception {
+        // Given
+        var retryPolicy = new ConflictRetryPolicy(10, Duration.ofNanos(50_000), Duration.ofMillis(5),
+                TransactionOperations.withoutTransaction());
+        var service = new ProductService(repository, event -> {
+        }, retryPolicy, new InlineProductDescriptionStore());
+        List<Product> hotProducts = new ArrayList<>();
+        for (int i = 0; i < HOT_PRODUCTS; i++) {
+            hotProducts.add(repository.save(Product.of("Hot Product " + i, "Description", "Manufacturer", 1.0, 1L)));
+        }
+        var succeeded = new AtomicInteger();
+        var gaveUp = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                var random = ThreadLocalRandom.current();
+                for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                    var target = hotProducts.get(random.nextInt(HOT_PRODUCTS));
+                    var change = Product.of(target.name(), "Description " + i, "Manufacturer",
+                            1.0 + random.nextInt(100), 1L + random.nextInt(100));
+                    try {
+                        service.updateProduct(target.id(), change);
+                        succeeded.incrementAndGet();
+                    } catch (ProductUpdateConflictException e) {
+                        gaveUp.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (var future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+
+        // Then
+        var stats = retryPolicy.getStats();
+        var updates = writers * UPDATES_PER_WRITER;
+        log.info("{} writers: {} updates, {} gave up, conflict rate {}%, {} retries, {} updates/s",
+                writers, succeeded.get(), gaveUp.get(), Math.round(stats.conflictRate() * 100), stats.retries(),
+                Math.round(succeeded.get() / (elapsedNanos / 1e9)));
+        assertThat(succeeded.get() + gaveUp.get()).isEqualTo(updates);
+        assertThat(stats.exhausted()).isEqualTo(gaveUp.get());
+        assertThat(stats.attempts()).isEqualTo(updates + stats.retries());
+        // Every applied update bumps the version by one, a lost update would leave it short.
+        var appliedVersions = hotProducts.stream()
+                .mapToLong(product -> repository.findById(product.id()).orElseThrow().version() - product.version())
+                .sum();
+        assertThat(appliedVersions).isEqualTo(succeeded.get());
+        if (writers == 1) {
+            assertThat(stats.conflicts()).isZero();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.asr.catalogservice.embedded;
+
+import com.asr.catalogservice.domain.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class InMemoryProductRepositoryTests {
+    private static final int LOG_CAPACITY = 64 * 1024;
+
+    @TempDir
+    private Path dataDir;
+
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository(dataDir, LOG_CAPACITY, false);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    @DisplayName("save new product, should assign id, audit dates and initial version")
+    void save_whenNew_shouldAssignIdAndAuditFields() {
+        // Given
+        var product = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+
+        // When
+        var saved = repository.save(product);
+
+        // Then
+        assertThat(saved.id()).isNotNull();
+        assertThat(saved.createdDate()).isNotNull();
+        assertThat(saved.lastModifiedDate()).isEqualTo(saved.createdDate());
+        assertThat(saved.version()).isOne();
+        assertThat(repository.findById(saved.id())).contains(saved);
+        assertThat(repository.existsByName("Name")).isTrue();
+    }
+
+    @Test
+    @DisplayName("save with stale version, should throw optimistic locking failure")
+    void save_whenStaleVersion_shouldThrow() {
+        // Given
+        var saved = repository.save(Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+        repository.save(withPrice(saved, 2.0));
+
+        // When + Then
+        assertThatExceptionOfType(OptimisticLockingFailureException.class)
+                .isThrownBy(() -> repository.save(withPrice(saved, 3.0)));
+    }
+
+    @Test
+    @DisplayName("save with existing name, should throw duplicate key")
+    void save_whenNameTaken_shouldThrow() {
+        // Given
+        repository.save(Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+
+        // When + Then
+        assertThatExceptionOfType(DuplicateKeyException.class)
+                .isThrownBy(() -> repository.save(Product.of("Name", "Other", "Other", 2.0, 1L)));
+    }
+
+    @Test
+    @DisplayName("secondary indexes should follow updates and deletes")
+    void secondaryIndexes_shouldFollowChanges() {
+        // Given
+        var product1 = repository.save(Product.of("Name", "Description", "Apple", 10.0, 1L));
+        var product2 = repository.save(Product.of("Name2", "Description", "Apple", 20.0, 1L));
+        repository.save(Product.of("Name3", "Description", "Samsung", 30.0, 1L));
+
+        // When
+        repository.save(new Product(product1.id(), product1.name(), product1.description(), "Samsung", 25.0,
+                product1.units(), product1.createdDate(), product1.lastModifiedDate(), product1.version()));
+        repository.deleteById(product2.id());
+
+        // Then
+        assertThat(repository.findByManufacturer("Apple")).isEmpty();
+        assertThat(repository.findByManufacturer("Samsung")).extracting(Product::name)
+                .containsExactlyInAnyOrder("Name", "Name3");
+        assertThat(repository.findByPriceBetween(10.0, 30.0)).extracting(Product::name)
+                .containsExactly("Name");
+    }
+
+    @Test
+    @DisplayName("reopening the store, should recover snapshot and log")
+    void recover_shouldRestoreState() throws Exception {
+        // Given
+        var product1 = repository.save(Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+        repository.snapshot();
+        var product2 = repository.save(Product.of("Name2", "Description", "Manufacturer", 2.0, 1L));
+        var updated = repository.save(withPrice(product2, 5.0));
+        repository.deleteById(product1.id());
+
+        // When
+        var recovered = new InMemoryProductRepository(dataDir, LOG_CAPACITY, false);
+
+        // Then
+        assertThat(recovered.findAll()).containsExactly(updated);
+        assertThat(recovered.existsByName("Name")).isFalse();
+    }
+
+    @Test
+    @DisplayName("when log is full, should compact into a snapshot and keep writing")
+    void save_whenLogFull_shouldSnapshot() throws Exception {
+        // Given
+        var product = repository.save(Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            product = repository.save(withPrice(product, 1.0 + i));
+        }
+        repository.close();
+        repository = new InMemoryProductRepository(dataDir, LOG_CAPACITY, false);
+
+        // Then
+        assertThat(repository.findById(product.id())).contains(product);
+    }
+
+    private static Product withPrice(Product product, Double price) {
+        return new Product(product.id(), product.name(), product.description(), product.manufacturer(), price,
+                product.units(), product.createdDate(), product.lastModifiedDate(), product.version());
+    }
+}
@@ -0,0 +1,193 @@
+package com.asr.catalogservice.migration;
+
+import com.asr.catalogservice.config.DataConfig;
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductConverters;
+import com.asr.catalogservice.domain.ProductLayout;
+import com.asr.catalogservice.domain.ProductTombstone;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+@DataMongoTest
+@Testcontainers
+@Import(DataConfig.class)
+@ActiveProfiles("integration")
+class ProductLayoutMigrationIT {
+    private static final String TARGET = "product_compact";
+    private static final String BACKUP = "product_before_compact";
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private ProductLayoutMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(Product.class);
+        mongoTemplate.dropCollection(ProductTombstone.class);
+        mongoTemplate.dropCollection(TARGET);
+        mongoTemplate.dropCollection(ProductLayoutMigration.CHECKPOINTS);
+        mongoTemplate.dropCollection(BACKUP);
+        migration = new ProductLayoutMigration(mongoTemplate, ProductLayout.STANDARD, ProductLayout.COMPACT, TARGET, 2,
+                LEASE);
+    }
+
+    @Test
+    @DisplayName("when migrating, should copy every product in the compact layout and report the sizes")
+    void migrate_shouldCopyIntoCompactLayout() {
+        // Given
+        var products = saveProducts(5);
+
+        // When
+        var report = migration.migrate(mongoTemplate, "test", false).orElseThrow();
+
+        // Then
+        assertThat(report.copied()).isEqualTo(5);
+        assertThat(report.before().count()).isEqualTo(5);
+        assertThat(report.after().count()).isEqualTo(5);
+        assertThat(report.after().avgObjSize()).isLessThan(report.before().avgObjSize());
+        var stored = mongoTemplate.getCollection(TARGET).find().into(new ArrayList<>());
+        assertThat(stored).allSatisfy(document -> {
+            assertThat(document).containsKeys("n", "m", "p", "v").doesNotContainKey("name");
+            assertThat(document.get("p")).isInstanceOf(Decimal128.class);
+        });
+        assertThat(stored.stream().map(ProductConverters::fromDocument).map(Product::id).toList())
+                .containsExactlyInAnyOrderElementsOf(products.stream().map(Product::id).toList());
+    }
+
+    @Test
+    @DisplayName("when resumed, should continue after the checkpoint and catch up deletes")
+    void migrate_shouldResumeAndCatchUp() {
+        // Given
+        saveProducts(3);
+        migration.migrate(mongoTemplate, "test", false);
+        var added = saveProducts(2);
+        var deleted = added.get(0);
+        mongoTemplate.remove(deleted);
+        mongoTemplate.save(new ProductTombstone(deleted.id(), Instant.now()));
+
+        // When
+        var report = migration.migrate(mongoTemplate, "test", false).orElseThrow();
+
+        // Then
+        assertThat(report.copied()).isEqualTo(1);
+        assertThat(mongoTemplate.getCollection(TARGET).countDocuments()).isEqualTo(4);
+        var checkpoint = mongoTemplate.getCollection(ProductLayoutMigration.CHECKPOINTS)
+                .find(new Document("_id", "test")).first();
+        assertThat(checkpoint.getLong("copied")).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("when cutting over, should swap in the copy, keep the original as backup and mark the checkpoint")
+    void migrate_shouldCutOver() {
+        // Given
+        saveProducts(3);
+
+        // When
+        var report = migration.migrate(mongoTemplate, "test", true).orElseThrow();
+
+        // Then
+        assertThat(report.cutOver()).isTrue();
+        assertThat(mongoTemplate.collectionExists(TARGET)).isFalse();
+        assertThat(mongoTemplate.getCollection("product").find().into(new ArrayList<>()))
+                .hasSize(3)
+                .allSatisfy(document -> assertThat(document).containsKey("n"));
+        assertThat(mongoTemplate.getCollection(BACKUP).find().into(new ArrayList<>()))
+                .hasSize(3)
+                .allSatisfy(document -> assertThat(document).containsKey("name"));
+        var checkpoint = mongoTemplate.getCollection(ProductLayoutMigration.CHECKPOINTS)
+                .find(new Document("_id", "test")).first();
+        assertThat(checkpoint).containsKey("cutOverAt").doesNotContainKey("owner");
+    }
+
+    @Test
+    @DisplayName("when run again after a finished cutover, should do nothing")
+    void migrate_whenAlreadyCutOver_shouldSkip() {
+        // Given
+        saveProducts(3);
+        migration.migrate(mongoTemplate, "test", true);
+
+        // When
+        var report = migration.migrate(mongoTemplate, "test", true);
+
+        // Then
+        assertThat(report).isEmpty();
+        assertThat(mongoTemplate.getCollection("product").countDocuments()).isEqualTo(3);
+        assertThat(mongoTemplate.getCollection(BACKUP).countDocuments()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("when another pod holds the lease, should leave the migration to it")
+    void migrate_whenLeaseHeldElsewhere_shouldSkip() {
+        // Given
+        saveProducts(3);
+        mongoTemplate.getCollection(ProductLayoutMigration.CHECKPOINTS).insertOne(new Document("_id", "test")
+                .append("startedAt", new Date())
+                .append("copied", 0L)
+                .append("owner", "other-pod")
+                .append("leaseUntil", Date.from(Instant.now().plus(LEASE))));
+
+        // When
+        var report = migration.migrate(mongoTemplate, "test", false);
+
+        // Then
+        assertThat(report).isEmpty();
+        assertThat(mongoTemplate.collectionExists(TARGET)).isFalse();
+    }
+
+    @Test
+    @DisplayName("when a backup from an earlier cutover exists, should refuse to cut over and keep the original")
+    void migrate_whenBackupExists_shouldRefuseCutover() {
+        // Given
+        saveProducts(3);
+        mongoTemplate.createCollection(BACKUP);
+
+        // When + Then
+        assertThatIllegalStateException()
+                .isThrownBy(() -> migration.migrate(mongoTemplate, "test", true))
+                .withMessageContaining(BACKUP);
+        assertThat(mongoTemplate.getCollection("product").find().into(new ArrayList<>()))
+                .hasSize(3)
+                .allSatisfy(document -> assertThat(document).containsKey("name"));
+    }
+
+    private List<Product> saveProducts(int count) {
+        var saved = new ArrayList<Product>();
+        for (int i = 0; i < count; i++) {
+            saved.add(mongoTemplate.save(new Product(null, "Product " + i, "Description " + i, "Manufacturer",
+                    10.0 + i, 5L, null, null, 0)));
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,96 @@
+package com.asr.catalogservice.mongo;
+
+import com.asr.catalogservice.domain.Deadline;
+import com.asr.catalogservice.domain.DeadlineExceededException;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.CountOptions;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+class DeadlineCollectionTests {
+
+    @SuppressWarnings("unchecked")
+    private final MongoCollection<Document> collection = mock(MongoCollection.class);
+
+    @AfterEach
+    void tearDown() {
+        Deadline.clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("when a deadline is bound, should send the remaining time as maxTimeMS")
+    void find_whenDeadlineBound_shouldSetMaxTime() {
+        // Given
+        FindIterable<Document> find = mock(FindIterable.class);
+        given(collection.find(any(Document.class))).willReturn(find);
+        given(find.maxTime(anyLong(), eq(TimeUnit.MILLISECONDS))).willReturn(find);
+        Deadline.bind(Deadline.after(Duration.ofSeconds(1)));
+
+        // When
+        DeadlineCollection.wrap(collection).find(new Document());
+
+        // Then
+        then(find).should().maxTime(longThat(millis -> millis > 0 && millis <= 1000),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("when the deadline has passed, should fail without querying")
+    void count_whenDeadlineExpired_shouldFailFast() {
+        // Given
+        Deadline.bind(Deadline.after(Duration.ZERO));
+
+        // When + Then
+        assertThatExceptionOfType(DeadlineExceededException.class)
+                .isThrownBy(() -> DeadlineCollection.wrap(collection).countDocuments(new Document(), new CountOptions()));
+        then(collection).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("when writing, should not apply the deadline")
+    void insert_whenDeadlineExpired_shouldStillWrite() {
+        // Given
+        Deadline.bind(Deadline.after(Duration.ZERO));
+        var document = new Document("name", "Name");
+
+        // When
+        DeadlineCollection.wrap(collection).insertOne(document);
+
+        // Then
+        then(collection).should().insertOne(document);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("when the read preference changes, should keep applying the deadline")
+    void withReadPreference_shouldStayWrapped() {
+        // Given
+        MongoCollection<Document> secondary = mock(MongoCollection.class);
+        given(collection.withReadPreference(ReadPreference.secondary())).willReturn(secondary);
+        given(secondary.getDocumentClass()).willReturn(Document.class);
+
+        // When
+        var wrapped = DeadlineCollection.wrap(collection).withReadPreference(ReadPreference.secondary());
+
+        // Then
+        assertThat(wrapped).isNotSameAs(secondary);
+    }
+}
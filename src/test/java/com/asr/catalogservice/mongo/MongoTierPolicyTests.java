@@ -0,0 +1,58 @@
+package com.asr.catalogservice.mongo;
+
+import com.asr.catalogservice.domain.OperationTier;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoTierPolicyTests {
+    private static final ReadPreference SECONDARY = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+    private final MongoTierPolicy policy = new MongoTierPolicy(WriteConcern.MAJORITY, WriteConcern.W1,
+            SECONDARY, Duration.ofSeconds(90));
+
+    @AfterEach
+    void tearDown() {
+        ClientContext.clear();
+    }
+
+    @Test
+    @DisplayName("when writing in bulk tier, should use the bulk write concern")
+    void writeConcernFor_whenBulk_shouldUseBulkConcern() {
+        // When + Then
+        assertThat(policy.writeConcernFor(null)).isEqualTo(WriteConcern.MAJORITY);
+        assertThat(OperationTier.BULK_WRITE.call(() -> policy.writeConcernFor(null))).isEqualTo(WriteConcern.W1);
+    }
+
+    @Test
+    @DisplayName("when reading outside the read tier, should keep the primary")
+    void readPreference_whenNotReadTier_shouldKeepDefault() {
+        // When + Then
+        assertThat(policy.readPreference()).isNull();
+        assertThat(OperationTier.READ.call(policy::readPreference)).isEqualTo(SECONDARY);
+    }
+
+    @Test
+    @DisplayName("when the same client wrote recently, should read from the primary")
+    void readPreference_whenClientWroteRecently_shouldReadPrimary() {
+        // Given
+        ClientContext.bind("client-1");
+        policy.writeConcernFor(null);
+
+        // When
+        var ownRead = OperationTier.READ.call(policy::readPreference);
+        ClientContext.bind("client-2");
+        var otherRead = OperationTier.READ.call(policy::readPreference);
+
+        // Then
+        assertThat(ownRead).isEqualTo(ReadPreference.primary());
+        assertThat(otherRead).isEqualTo(SECONDARY);
+    }
+}
@@ -0,0 +1,141 @@
+package com.asr.catalogservice.outbox;
+
+import com.asr.catalogservice.config.DataConfig;
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+@Import(DataConfig.class)
+@ActiveProfiles("integration")
+class OutboxPublisherIT {
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private OutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(OutboxEvent.class);
+        writer = new OutboxWriter(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("when draining, should publish events in order in batches and empty the outbox")
+    void drain_shouldPublishInOrderAndRemove() {
+        // Given
+        var broker = new InProcessBroker();
+        var batches = new ArrayList<List<OutboxEvent>>();
+        broker.subscribe(batches::add);
+        var publisher = new OutboxPublisher(mongoTemplate, broker, 2, 10, LEASE);
+        for (int i = 0; i < 5; i++) {
+            writer.onProductChanged(ProductChangedEvent.created(product(String.valueOf(i))));
+        }
+
+        // When
+        publisher.drain();
+
+        // Then
+        assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(batches.stream().flatMap(List::stream).map(OutboxEvent::productId))
+                .containsExactly("0", "1", "2", "3", "4");
+        var stats = publisher.getStats();
+        assertThat(stats.publishedEvents()).isEqualTo(5);
+        assertThat(stats.pendingEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("when sink fails, should keep events for the next poll")
+    void drain_whenSinkFails_shouldKeepEvents() {
+        // Given
+        OutboxSink failingSink = batch -> {
+            throw new IllegalStateException("Broker unavailable");
+        };
+        var publisher = new OutboxPublisher(mongoTemplate, failingSink, 10, 10, LEASE);
+        writer.onProductChanged(ProductChangedEvent.deleted(product("1")));
+
+        // When
+        publisher.drain();
+
+        // Then
+        var stats = publisher.getStats();
+        assertThat(stats.failedBatches()).isEqualTo(1);
+        assertThat(stats.pendingEvents()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("when another pod drains while a batch is being published, should not publish it twice")
+    void drain_whenConcurrentPublisher_shouldSkipClaimedBatch() {
+        // Given
+        var otherBatches = new ArrayList<List<OutboxEvent>>();
+        var otherPublisher = new OutboxPublisher(mongoTemplate, otherBatches::add, 10, 10, LEASE);
+        var batches = new ArrayList<List<OutboxEvent>>();
+        OutboxSink sink = batch -> {
+            otherPublisher.drain();
+            batches.add(batch);
+        };
+        var publisher = new OutboxPublisher(mongoTemplate, sink, 10, 10, LEASE);
+        for (int i = 0; i < 3; i++) {
+            writer.onProductChanged(ProductChangedEvent.created(product(String.valueOf(i))));
+        }
+
+        // When
+        publisher.drain();
+
+        // Then
+        assertThat(batches).hasSize(1);
+        assertThat(otherBatches).isEmpty();
+        assertThat(publisher.getStats().pendingEvents()).isZero();
+    }
+
+    @Test
+    @DisplayName("when a claim's lease has expired, should let another pod publish the batch")
+    void drain_whenLeaseExpired_shouldReclaim() {
+        // Given
+        var otherBatches = new ArrayList<List<OutboxEvent>>();
+        var otherPublisher = new OutboxPublisher(mongoTemplate, otherBatches::add, 10, 10, LEASE);
+        OutboxSink sink = batch -> otherPublisher.drain();
+        var publisher = new OutboxPublisher(mongoTemplate, sink, 10, 10, Duration.ZERO);
+        writer.onProductChanged(ProductChangedEvent.created(product("1")));
+
+        // When
+        publisher.drain();
+
+        // Then
+        assertThat(otherBatches).hasSize(1);
+        assertThat(publisher.getStats().pendingEvents()).isZero();
+    }
+
+    private static Product product(String id) {
+        return new Product(id, "Name" + id, "Description", "Apple", 10.0, 2L, null, null, 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.asr.catalogservice.partition;
+
+import com.asr.catalogservice.domain.Product;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+// Two databases on one container stand in for two partition clusters.
+@Testcontainers
+class PartitionedProductRepositoryIT {
+    @Container
+    private static MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient client;
+    private static MongoTemplate partition0;
+    private static MongoTemplate partition1;
+
+    @BeforeAll
+    static void setUpPartitions() {
+        client = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        partition0 = new MongoTemplate(client, "product_catalog_p0");
+        partition1 = new MongoTemplate(client, "product_catalog_p1");
+    }
+
+    @AfterAll
+    static void closeClient() {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("when partitioned by id, products should be spread and found across partitions")
+    void save_whenPartitionedById_shouldRouteAndScatter() {
+        // Given
+        var partitions = partitions(PartitionKey.ID);
+        var repository = new PartitionedProductRepository(partitions);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            repository.save(Product.of("Name" + i, "Description", "Apple", 10.0 + i, 2L));
+        }
+
+        // Then
+        assertThat(partition0.count(new Query(), Product.class)).isPositive();
+        assertThat(partition1.count(new Query(), Product.class)).isPositive();
+        assertThat(repository.count()).isEqualTo(20);
+        assertThat(repository.findByManufacturer("Apple")).hasSize(20);
+        assertThat(repository.existsByName("Name7")).isTrue();
+        var any = repository.findByManufacturer("Apple").get(0);
+        assertThat(repository.findById(any.id())).contains(any);
+        assertThat(partitions.forKey(any.id()).findById(any.id(), Product.class)).isEqualTo(any);
+    }
+
+    @Test
+    @DisplayName("when partitioned by manufacturer and manufacturer changes, product should move partitions")
+    void save_whenManufacturerChanges_shouldMoveProduct() {
+        // Given
+        var partitions = partitions(PartitionKey.MANUFACTURER);
+        var repository = new PartitionedProductRepository(partitions);
+        var first = manufacturerIn(partitions, 0);
+        var second = manufacturerIn(partitions, 1);
+        var product = repository.save(Product.of("Name", "Description", first, 10.0, 2L));
+
+        // When
+        var moved = repository.save(new Product(product.id(), product.name(), product.description(), second,
+                product.price(), product.units(), product.createdDate(), product.lastModifiedDate(),
+                product.version()));
+
+        // Then
+        assertThat(moved.version()).isEqualTo(product.version() + 1);
+        assertThat(partition0.findById(product.id(), Product.class)).isNull();
+        assertThat(partition1.findById(product.id(), Product.class)).isEqualTo(moved);
+        assertThat(repository.findById(product.id())).contains(moved);
+    }
+
+    @Test
+    @DisplayName("when the partition count changes after the layout was recorded, should refuse to route")
+    void verifyLayout_whenPartitionCountChanges_shouldFail() {
+        // Given
+        partition0.dropCollection(ProductPartitions.LAYOUT_COLLECTION);
+        partition1.dropCollection(ProductPartitions.LAYOUT_COLLECTION);
+        partitions(PartitionKey.ID).verifyLayout();
+
+        // When
+        var shrunk = new ProductPartitions(List.of(partition0), PartitionKey.ID, null, List.of());
+
+        // Then
+        assertThatIllegalStateException()
+                .isThrownBy(shrunk::verifyLayout)
+                .withMessageContaining("move the data");
+        partitions(PartitionKey.ID).verifyLayout();
+    }
+
+    private static ProductPartitions partitions(PartitionKey key) {
+        partition0.dropCollection(Product.class);
+        partition1.dropCollection(Product.class);
+        return new ProductPartitions(List.of(partition0, partition1), key, Executors.newFixedThreadPool(2), List.of());
+    }
+
+    private static String manufacturerIn(ProductPartitions partitions, int index) {
+        for (int i = 0; ; i++) {
+            var manufacturer = "Manufacturer" + i;
+            if (partitions.indexOf(manufacturer) == index) {
+                return manufacturer;
+            }
+        }
+    }
+}
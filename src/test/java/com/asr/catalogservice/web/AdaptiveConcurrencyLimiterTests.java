@@ -0,0 +1,119 @@
+package com.asr.catalogservice.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    @DisplayName("when limit is reached, should reject further requests")
+    void tryAcquire_whenLimitReached_shouldReject() {
+        // Given
+        var limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        // When + Then
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("when latency rises above baseline, should decrease limit")
+    void release_whenLatencyRises_shouldDecreaseLimit() {
+        // Given
+        var limiter = new AdaptiveConcurrencyLimiter(20, 1, 50);
+        saturate(limiter, 200, TimeUnit.MILLISECONDS.toNanos(10));
+        int limitAtSteadyLatency = limiter.getLimit();
+
+        // When
+        saturate(limiter, 200, TimeUnit.MILLISECONDS.toNanos(200));
+
+        // Then
+        assertThat(limiter.getLimit()).isLessThan(limitAtSteadyLatency);
+    }
+
+    @Test
+    @DisplayName("when latency stays flat, should increase limit up to max")
+    void release_whenLatencyFlat_shouldIncreaseLimit() {
+        // Given
+        var limiter = new AdaptiveConcurrencyLimiter(5, 1, 30);
+
+        // When
+        saturate(limiter, 500, TimeUnit.MILLISECONDS.toNanos(10));
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("when requests are dropped, should back off")
+    void release_whenDropped_shouldBackOff() {
+        // Given
+        var limiter = new AdaptiveConcurrencyLimiter(20, 1, 50);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(0, true);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("when over the limit, filter should fail fast with 503 and Retry-After")
+    void filter_whenOverLimit_shouldReturn503() throws Exception {
+        // Given
+        var readLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        var writeLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        var filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, Duration.ofSeconds(2));
+        readLimiter.tryAcquire();
+        var response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("when write budget is exhausted, filter should still admit reads")
+    void filter_whenWritesExhausted_shouldAdmitReads() throws Exception {
+        // Given
+        var readLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        var writeLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1);
+        var filter = new ConcurrencyLimitFilter(readLimiter, writeLimiter, Duration.ofSeconds(1));
+        writeLimiter.tryAcquire();
+        var response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products"), response, new MockFilterChain());
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(readLimiter.getInFlight()).isZero();
+    }
+
+    // Keeps the limiter fully used so every sample counts towards the limit.
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, int samples, long rttNanos) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // fill up to the current limit
+            }
+            limiter.release(rttNanos, false);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkProductValidatorTests {
+    private static BulkProductValidator bulkValidator;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void beforeAll() {
+        bulkValidator = new BulkProductValidator(Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    @DisplayName("when all items are valid, should report no invalid items")
+    void findInvalid_whenAllValid_shouldBeEmpty() {
+        // Given
+        var products = IntStream.range(0, 500)
+                .mapToObj(i -> Product.of("Name " + i, "Description", "Manufacturer", 1.0, 1L))
+                .toList();
+
+        // When + Then
+        assertThat(bulkValidator.findInvalid(products)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("when items are invalid, report should keep errors of every item apart")
+    void writeReport_whenItemsInvalid_shouldIndexErrors() throws Exception {
+        // Given
+        var products = new ArrayList<Product>();
+        IntStream.range(0, 300).forEach(i -> products.add(Product.of("Name " + i, "Description", "Manufacturer", 1.0, 1L)));
+        products.set(3, Product.of("na", "Description", "Manufacturer", 1.0, 1L));
+        products.set(250, Product.of("Name", "Description", "Manufacturer", 0.0, 1L));
+        products.set(299, Product.of("na", "Description", "Ma", 1.0, 1L));
+
+        // When
+        var invalid = bulkValidator.findInvalid(products);
+        var out = new ByteArrayOutputStream();
+        bulkValidator.writeReport(products, invalid, objectMapper.getFactory().createGenerator(out));
+
+        // Then
+        var report = objectMapper.readTree(out.toByteArray());
+        assertThat(report.get("invalidItems").asInt()).isEqualTo(3);
+        var errors = report.get("errors");
+        assertThat(List.of(errors.get(0).get("index").asInt(), errors.get(1).get("index").asInt(),
+                errors.get(2).get("index").asInt())).containsExactly(3, 250, 299);
+        assertThat(errors.get(0).get("fields").get("name").asText())
+                .isEqualTo("Product name must be at least 3 characters long.");
+        assertThat(errors.get(1).get("fields").get("price").asText())
+                .isEqualTo("Product price must be greater than zero");
+        assertThat(errors.get(2).get("fields").has("name")).isTrue();
+        assertThat(errors.get(2).get("fields").has("manufacturer")).isTrue();
+    }
+
+    @Test
+    @DisplayName("when an item is null, should report it as invalid instead of failing")
+    void writeReport_whenItemIsNull_shouldReportIt() throws Exception {
+        // Given
+        var products = new ArrayList<Product>();
+        products.add(Product.of("Name", "Description", "Manufacturer", 1.0, 1L));
+        products.add(null);
+
+        // When
+        var invalid = bulkValidator.findInvalid(products);
+        var out = new ByteArrayOutputStream();
+        bulkValidator.writeReport(products, invalid, objectMapper.getFactory().createGenerator(out));
+
+        // Then
+        var report = objectMapper.readTree(out.toByteArray());
+        assertThat(report.get("invalidItems").asInt()).isOne();
+        assertThat(report.get("errors").get(0).get("index").asInt()).isOne();
+        assertThat(report.get("errors").get(0).get("fields").get("product").asText())
+                .isEqualTo("Product must not be null.");
+    }
+}
@@ -0,0 +1,46 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.mongo.ClientContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientContextFilterTests {
+    private final ClientContextFilter filter = new ClientContextFilter();
+
+    @Test
+    @DisplayName("when X-Client-Id is sent, should bind it for the request")
+    void doFilter_whenClientIdSent_shouldBindIt() throws Exception {
+        // Given
+        var request = new MockHttpServletRequest("GET", "/products");
+        request.addHeader(ClientContextFilter.CLIENT_ID, "client-1");
+        var client = new AtomicReference<String>();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> client.set(ClientContext.current()));
+
+        // Then
+        assertThat(client).hasValue("client-1");
+        assertThat(ClientContext.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("when no X-Client-Id is sent, should not fall back to the remote address")
+    void doFilter_whenNoClientId_shouldNotTrack() throws Exception {
+        // Given
+        var request = new MockHttpServletRequest("GET", "/products");
+        request.setRemoteAddr("10.0.0.1");
+        var client = new AtomicReference<String>("unset");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> client.set(ClientContext.current()));
+
+        // Then
+        assertThat(client.get()).isNull();
+    }
+}
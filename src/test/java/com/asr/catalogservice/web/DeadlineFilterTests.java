@@ -0,0 +1,73 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Deadline;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineFilterTests {
+    private final DeadlineFilter filter = new DeadlineFilter(Duration.ofSeconds(2), Duration.ofSeconds(10), List.of(
+            new DeadlineFilter.EndpointBudget(null, "/products/stream", Duration.ZERO),
+            new DeadlineFilter.EndpointBudget("GET", "/products/*", Duration.ofMillis(500))));
+
+    @Test
+    @DisplayName("when endpoint has a budget, should bind a deadline for the request and clear it after")
+    void doFilter_shouldBindDeadline() throws Exception {
+        // Given
+        var bound = new AtomicReference<Deadline>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/1"), new MockHttpServletResponse(),
+                (request, response) -> bound.set(Deadline.current()));
+
+        // Then
+        assertThat(bound.get()).isNotNull();
+        assertThat(bound.get().budget()).isEqualTo(Duration.ofMillis(500));
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("when no endpoint matches, should use the default budget")
+    void budgetFor_whenNoEndpointMatches_shouldUseDefault() {
+        assertThat(filter.budgetFor(new MockHttpServletRequest("PUT", "/products/1")))
+                .isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("when endpoint budget is zero, should not bind a deadline")
+    void doFilter_whenBudgetIsZero_shouldNotBindDeadline() throws Exception {
+        // Given
+        var bound = new AtomicReference<Deadline>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/products/stream"), new MockHttpServletResponse(),
+                (request, response) -> bound.set(Deadline.current()));
+
+        // Then
+        assertThat(bound.get()).isNull();
+    }
+
+    @Test
+    @DisplayName("when client asks for another budget, should use it up to the maximum")
+    void budgetFor_whenHeaderPresent_shouldOverrideWithinMaximum() {
+        // Given
+        var shorter = new MockHttpServletRequest("GET", "/products/1");
+        shorter.addHeader(DeadlineFilter.REQUEST_TIMEOUT, "100");
+        var longer = new MockHttpServletRequest("GET", "/products/1");
+        longer.addHeader(DeadlineFilter.REQUEST_TIMEOUT, "60000");
+        var malformed = new MockHttpServletRequest("GET", "/products/1");
+        malformed.addHeader(DeadlineFilter.REQUEST_TIMEOUT, "soon");
+
+        // When + Then
+        assertThat(filter.budgetFor(shorter)).isEqualTo(Duration.ofMillis(100));
+        assertThat(filter.budgetFor(longer)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(filter.budgetFor(malformed)).isEqualTo(Duration.ofMillis(500));
+    }
+}
@@ -0,0 +1,260 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Deadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+    private static final String BODY = "{\"name\": \"Name\"}";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    @DisplayName("when request is retried with the same key, should replay the first response")
+    void doFilter_whenRetried_shouldReplay() throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, 201, "{\"id\": \"1\"}");
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", BODY), response, chain);
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\": \"1\"}");
+        assertThat(response.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("when key is reused with a different body, should reject the request")
+    void doFilter_whenBodyDiffers_shouldReject() throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, 201, "{}");
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"name\": \"Other\"}"), response, chain);
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("when the original fails with a server error, a retry should run again")
+    void doFilter_whenServerError_shouldNotStore() throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, 500, "");
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(calls).hasValue(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {409, 429})
+    @DisplayName("when the original is answered with a retryable status, a retry should run again")
+    void doFilter_whenRetryableStatus_shouldNotStore(int status) throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, status, "");
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // When
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("when a duplicate arrives while the original runs, should wait and replay its response")
+    void doFilter_whenConcurrentDuplicate_shouldWaitForOriginal() throws Exception {
+        // Given
+        var filter = filter();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond((HttpServletResponse) response, 201, "{\"id\": \"1\"}");
+        };
+        var originalResponse = new MockHttpServletResponse();
+        var original = CompletableFuture.runAsync(() -> doFilter(filter, originalResponse, chain));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        var duplicateResponse = new MockHttpServletResponse();
+        var duplicate = CompletableFuture.runAsync(() -> doFilter(filter, duplicateResponse, chain));
+        release.countDown();
+        CompletableFuture.allOf(original, duplicate).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(duplicateResponse.getStatus()).isEqualTo(201);
+        assertThat(duplicateResponse.getContentAsString()).isEqualTo(originalResponse.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("when a duplicate's deadline passes before the original finishes, should answer 409 without waiting longer")
+    void doFilter_whenDuplicateDeadlinePasses_shouldReject() throws Exception {
+        // Given
+        var filter = filter();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond((HttpServletResponse) response, 201, "{}");
+        };
+        var original = CompletableFuture.runAsync(() -> doFilter(filter, new MockHttpServletResponse(), chain));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        var duplicateResponse = new MockHttpServletResponse();
+        long start = System.nanoTime();
+        Deadline.bind(Deadline.after(Duration.ofMillis(50)));
+        try {
+            doFilter(filter, duplicateResponse, chain);
+        } finally {
+            Deadline.clear();
+        }
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+        release.countDown();
+        original.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(duplicateResponse.getStatus()).isEqualTo(409);
+        assertThat(waitedMillis).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("when the body is larger than the limit, should reject it with 413")
+    void doFilter_whenBodyTooLarge_shouldReject() throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, 201, "{}");
+        var request = request("key-1", "x".repeat(2048));
+
+        // When
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        // Then
+        assertThat(calls).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(413);
+    }
+
+    @Test
+    @DisplayName("when the controller reads the body asynchronously, should hand over the buffered body")
+    void doFilter_whenReadListenerSet_shouldSignalBody() throws Exception {
+        // Given
+        var filter = filter();
+        var read = new AtomicReference<String>();
+        FilterChain chain = (request, response) -> {
+            var input = ((HttpServletRequest) request).getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    read.set(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onAllDataRead() {
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+            });
+            respond((HttpServletResponse) response, 201, "{}");
+        };
+
+        // When
+        filter.doFilter(request("key-1", BODY), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(read).hasValue(BODY);
+    }
+
+    @Test
+    @DisplayName("when no key is sent, should not deduplicate")
+    void doFilter_whenNoKey_shouldPassThrough() throws Exception {
+        // Given
+        var filter = filter();
+        FilterChain chain = (request, response) -> respond((HttpServletResponse) response, 201, "{}");
+
+        // When
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), chain);
+        filter.doFilter(request(null, BODY), new MockHttpServletResponse(), chain);
+
+        // Then
+        assertThat(calls).hasValue(2);
+    }
+
+    private IdempotencyFilter filter() {
+        return new IdempotencyFilter(new IdempotencyStore(100, Duration.ofMinutes(1), null), Duration.ofSeconds(5),
+                1024);
+    }
+
+    private void respond(HttpServletResponse response, int status, String body) throws IOException {
+        calls.incrementAndGet();
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void doFilter(IdempotencyFilter filter, MockHttpServletResponse response, FilterChain chain) {
+        try {
+            filter.doFilter(request("key-1", BODY), response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        var request = new MockHttpServletRequest("POST", "/products");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,101 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProductBatchController.class)
+@Import(BulkProductValidator.class)
+class ProductBatchControllerTests {
+    private static final String BATCH_URI = "/products/batch";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProductService productService;
+
+    @Test
+    @DisplayName("add products when batch is valid, should save all and return 201")
+    void addProducts_whenValid_shouldSaveAll() throws Exception {
+        // Given
+        var product1 = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var product2 = Product.of("Name2", "Description2", "Manufacturer2", 2.0, 2L);
+        given(productService.saveProducts(any()))
+                .willReturn(List.of(product1, product2));
+        var body = """
+                [{
+                	"name": "Name",
+                	"description": "Description",
+                	"manufacturer": "Manufacturer",
+                	"price": 1.0,
+                	"units": 1
+                }, {
+                	"name": "Name2",
+                	"description": "Description2",
+                	"manufacturer": "Manufacturer2",
+                	"price": 2.0,
+                	"units": 2
+                }]""";
+
+        // When
+        var result = mockMvc.perform(post(BATCH_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Name2"));
+    }
+
+    @Test
+    @DisplayName("add products when batch has invalid and null items, should return 400 with report")
+    void addProducts_whenInvalid_shouldReturnReport() throws Exception {
+        // Given
+        var body = """
+                [{
+                	"name": "Name",
+                	"description": "Description",
+                	"manufacturer": "Manufacturer",
+                	"price": 1.0,
+                	"units": 1
+                }, null]""";
+
+        // When
+        var result = mockMvc.perform(post(BATCH_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.invalidItems").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+        then(productService).should(never()).saveProducts(any());
+    }
+}
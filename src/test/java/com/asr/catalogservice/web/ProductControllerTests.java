@@ -1,8 +1,13 @@
 package com.asr.catalogservice.web;
 
+import com.asr.catalogservice.diagnostics.HotProductTracker;
+import com.asr.catalogservice.domain.DeadlineExceededException;
 import com.asr.catalogservice.domain.Product;
 import com.asr.catalogservice.domain.ProductNotFoundException;
 import com.asr.catalogservice.domain.ProductService;
+import com.asr.catalogservice.domain.ProductUpdateConflictException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,14 +16,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductController.class)
@@ -31,6 +42,9 @@ class ProductControllerTests {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private HotProductTracker hotProductTracker;
+
     @Test
     @DisplayName("get all products, should return all products")
     void getAllProducts() throws Exception {
@@ -71,6 +85,34 @@ class ProductControllerTests {
                 .andExpect(content().json(expected));
     }
 
+    @Test
+    @DisplayName("get all products with cbor accept header, should return smaller cbor payload")
+    void getAllProducts_whenCborAccepted_shouldReturnCbor() throws Exception {
+        // Given
+        var product1 = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        var product2 = Product.of("Name2", "Description2", "Manufacturer2", 2.0, 2L);
+        var products = List.of(product1, product2);
+        given(productService.findAllProducts())
+                .willReturn(products);
+
+        // When
+        var cbor = mockMvc
+                .perform(get(PRODUCT_URI).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_CBOR_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+        var json = mockMvc
+                .perform(get(PRODUCT_URI).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        List<Product> actualProducts = new CBORMapper().findAndRegisterModules()
+                .readValue(cbor, new TypeReference<>() {
+                });
+        assertThat(actualProducts).containsExactlyElementsOf(products);
+        assertThat(cbor.length).isLessThan(json.length);
+    }
+
     @Test
     @DisplayName("get product when not exists, should return 404")
     void getProduct_whenNotExists_shouldReturn404() throws Exception {
@@ -83,6 +125,7 @@ class ProductControllerTests {
         mockMvc
                 .perform(get(PRODUCT_URI + "/" + productId))
                 .andExpect(status().isNotFound());
+        then(hotProductTracker).should(never()).record(productId);
     }
 
     @Test
@@ -109,6 +152,7 @@ class ProductControllerTests {
                 .perform(get(PRODUCT_URI + "/" + productId))
                 .andExpect(status().isOk())
                 .andExpect(content().json(expected, false));
+        then(hotProductTracker).should().record(productId);
     }
 
     @Test
@@ -193,4 +237,65 @@ class ProductControllerTests {
                 ).andExpect(status().isAccepted())
                 .andExpect(content().json(expected, true));
     }
+
+    @Test
+    @DisplayName("update product when conflicting updates exhaust the retries, should return conflict")
+    void updateProduct_whenConflictPersists_shouldReturnConflict() throws Exception {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        var updatedProduct = new Product(productId, "Name", "Updated Description", "Updated Manufacturer",
+                2.0, 2L, null, null, 2);
+        given(productService.updateProduct(productId, updatedProduct))
+                .willThrow(new ProductUpdateConflictException(productId, 5, null));
+        var updatedProductStr = """
+                {
+                "id": "%s",
+                "name": "Name",
+                "description": "Updated Description",
+                "manufacturer": "Updated Manufacturer",
+                "price": 2.0,
+                "units": 2,
+                "version": 2
+                }
+                """.formatted(productId);
+
+        // When + Then
+        mockMvc
+                .perform(put(PRODUCT_URI + "/" + productId)
+                        .content(updatedProductStr)
+                        .contentType(MediaType.APPLICATION_JSON)
+                ).andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("get product when the request runs out of time, should return gateway timeout")
+    void getProduct_whenDeadlineExceeded_shouldReturnGatewayTimeout() throws Exception {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(productService.findProductById(productId))
+                .willThrow(new DeadlineExceededException(Duration.ofMillis(500)));
+
+        // When + Then
+        mockMvc
+                .perform(get(PRODUCT_URI + "/" + productId))
+                .andExpect(status().isGatewayTimeout());
+    }
+
+    @Test
+    @DisplayName("get all products with expand=description, should load the descriptions")
+    void getAllProducts_whenDescriptionExpanded_shouldLoadDescriptions() throws Exception {
+        // Given
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Name", null, "Manufacturer", 1.0, 1L, null, null, 1);
+        var withDescription = new Product(product.id(), "Name", "Long description", "Manufacturer", 1.0, 1L,
+                null, null, 1);
+        List<Product> products = List.of(product);
+        given(productService.findAllProducts()).willReturn(products);
+        given(productService.loadDescriptions(products)).willReturn(List.of(withDescription));
+
+        // When + Then
+        mockMvc
+                .perform(get(PRODUCT_URI).param("expand", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description").value("Long description"));
+    }
 }
@@ -0,0 +1,132 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductEventBroadcasterTests {
+
+    @Test
+    @DisplayName("when subscriber cap is reached, should reject further subscribers")
+    void subscribe_whenCapReached_shouldReject() {
+        // Given
+        var broadcaster = new ProductEventBroadcaster(Executors.newSingleThreadExecutor(), 1, 16, 16,
+                ProductStreamSubscriber.OverflowPolicy.DISCONNECT, Duration.ofMinutes(1));
+
+        // When
+        var first = broadcaster.subscribe(Set.of(), null);
+        var second = broadcaster.subscribe(Set.of(), null);
+
+        // Then
+        assertThat(first).isNotNull();
+        assertThat(second).isNull();
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+        broadcaster.close();
+    }
+
+    @Test
+    @DisplayName("when filtering by manufacturer, should match products moving in or out of it")
+    void matches_whenFilteringByManufacturer_shouldMatchPreviousAndCurrent() {
+        // Given
+        var subscriber = subscriber(Set.of(), "Apple", 16, ProductStreamSubscriber.OverflowPolicy.DISCONNECT,
+                new ArrayList<>());
+        var apple = product("1", "Apple");
+        var samsung = product("1", "Samsung");
+
+        // When + Then
+        assertThat(subscriber.matches(ProductChangedEvent.created(apple))).isTrue();
+        assertThat(subscriber.matches(ProductChangedEvent.updated(apple, samsung))).isTrue();
+        assertThat(subscriber.matches(ProductChangedEvent.created(product("2", "Samsung")))).isFalse();
+    }
+
+    @Test
+    @DisplayName("when filtering by id, should only match those products")
+    void matches_whenFilteringById_shouldMatchOnlyThoseIds() {
+        // Given
+        var subscriber = subscriber(Set.of("1"), null, 16, ProductStreamSubscriber.OverflowPolicy.DISCONNECT,
+                new ArrayList<>());
+
+        // When + Then
+        assertThat(subscriber.matches(ProductChangedEvent.deleted(product("1", "Apple")))).isTrue();
+        assertThat(subscriber.matches(ProductChangedEvent.deleted(product("2", "Apple")))).isFalse();
+    }
+
+    @Test
+    @DisplayName("when buffer overflows with disconnect policy, should close the subscriber")
+    void offer_whenBufferOverflowsWithDisconnect_shouldClose() {
+        // Given
+        var closed = new ArrayList<ProductStreamSubscriber>();
+        var subscriber = subscriber(Set.of(), null, 2, ProductStreamSubscriber.OverflowPolicy.DISCONNECT, closed);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            subscriber.offer(SseEmitter.event().data(i));
+        }
+
+        // Then
+        assertThat(subscriber.isClosed()).isTrue();
+        assertThat(closed).containsExactly(subscriber);
+    }
+
+    @Test
+    @DisplayName("when buffer overflows with drop-oldest policy, should keep the subscriber open")
+    void offer_whenBufferOverflowsWithDropOldest_shouldStayOpen() {
+        // Given
+        var closed = new ArrayList<ProductStreamSubscriber>();
+        var subscriber = subscriber(Set.of(), null, 2, ProductStreamSubscriber.OverflowPolicy.DROP_OLDEST, closed);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            subscriber.offer(SseEmitter.event().data(i));
+        }
+
+        // Then
+        assertThat(subscriber.isClosed()).isFalse();
+        assertThat(closed).isEmpty();
+    }
+
+    @Test
+    @DisplayName("when more events are queued than a drain batch, should send them over several drains")
+    void offer_whenQueueExceedsDrainBatch_shouldRescheduleDrain() {
+        // Given
+        List<Runnable> drains = new ArrayList<>();
+        var closed = new ArrayList<ProductStreamSubscriber>();
+        var subscriber = new ProductStreamSubscriber(new SseEmitter(), Set.of(), null, 16, 2,
+                ProductStreamSubscriber.OverflowPolicy.DISCONNECT, drains::add, closed::add);
+        for (int i = 0; i < 5; i++) {
+            subscriber.offer(SseEmitter.event().data(i));
+        }
+
+        // When
+        for (int i = 0; i < drains.size(); i++) {
+            drains.get(i).run();
+        }
+
+        // Then
+        assertThat(drains).hasSize(3);
+        assertThat(closed).isEmpty();
+    }
+
+    // The executor only collects drain tasks, so queued events stay in the buffer.
+    private static ProductStreamSubscriber subscriber(Set<String> ids, String manufacturer, int bufferSize,
+                                                      ProductStreamSubscriber.OverflowPolicy policy,
+                                                      List<ProductStreamSubscriber> closed) {
+        List<Runnable> drains = new ArrayList<>();
+        return new ProductStreamSubscriber(new SseEmitter(), ids, manufacturer, bufferSize, 16, policy,
+                drains::add, closed::add);
+    }
+
+    private static Product product(String id, String manufacturer) {
+        return new Product(id, "Name", "Description", manufacturer, 10.0, 2L, null, null, 1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.asr.catalogservice.web;
+
+import com.asr.catalogservice.diagnostics.HotProductTracker;
+import com.asr.catalogservice.domain.Product;
+import com.asr.catalogservice.domain.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ProductController.class, properties = "catalog.server-timing.enabled=true")
+@Import(ServerTimingFilterTests.InMemorySpanExporterConfig.class)
+class ServerTimingFilterTests {
+    private static final String PRODUCT_URI = "/products";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @MockBean
+    private ProductService productService;
+
+    @MockBean
+    private HotProductTracker hotProductTracker;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.spans.clear();
+    }
+
+    @Test
+    @DisplayName("add product, should report binding and validation timings")
+    void addProduct_shouldReportTimings() throws Exception {
+        // Given
+        var product = Product.of("Name", "Description", "Manufacturer", 1.0, 1L);
+        given(productService.saveProduct(any())).willReturn(product);
+        var productStr = """
+                {
+                "name": "Name",
+                "description": "Description",
+                "manufacturer": "Manufacturer",
+                "price": 1.0,
+                "units": 1
+                }
+                """;
+
+        // When + Then
+        mockMvc
+                .perform(post(PRODUCT_URI)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productStr))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("bind;dur="),
+                        containsString("validate;dur="),
+                        containsString("app;dur="),
+                        containsString("total;dur="))));
+        assertThat(spanExporter.spans)
+                .extracting(TimingSpan::name)
+                .contains("bind", "validate");
+    }
+
+    @Test
+    @DisplayName("delete product, should report timings on bodiless response")
+    void deleteProduct_shouldReportTimings() throws Exception {
+        mockMvc
+                .perform(delete(PRODUCT_URI + "/64b13f81160f6f18fe1fdd49"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+    }
+
+    static class InMemorySpanExporter implements SpanExporter {
+        private final List<TimingSpan> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void export(String requestName, long durationNanos, List<TimingSpan> spans) {
+            this.spans.addAll(spans);
+        }
+    }
+
+    @TestConfiguration
+    static class InMemorySpanExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return new InMemorySpanExporter();
+        }
+    }
+}